@@ -5,7 +5,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
@@ -13,6 +12,7 @@ import org.testng.annotations.Test;
 
 import java.time.Duration;
 import java.util.Set;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -21,7 +21,7 @@ public class AGroupJavaQATest {
     @Test
     public void testRequestQuote() throws InterruptedException {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().maximize();
         driver.get("https://qa1-aws.rssc.com/request-quote");
 
@@ -47,7 +47,7 @@ public class AGroupJavaQATest {
     @Test
     public void testNewTabOpen() {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().setSize(new Dimension(1280, 920));
         driver.get("https://goodbeautychicago.com/");
 
@@ -66,7 +66,7 @@ public class AGroupJavaQATest {
     @Test
     public void testMarina() {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         try {
             driver.get("https://opensource-demo.orangehrmlive.com/web/index.php/auth/login");
@@ -94,7 +94,7 @@ public class AGroupJavaQATest {
 
     @Test
     public void testGardenplusSearch() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.gardensplus.ca");
         Thread.sleep(1000);
 
@@ -112,7 +112,7 @@ public class AGroupJavaQATest {
 
     @Test
     public void testEliza() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://parabank.parasoft.com/parabank/index.htm");
 
         Thread.sleep(2000);
@@ -139,7 +139,7 @@ public class AGroupJavaQATest {
     @Test
     public void testAddEntitlements() throws InterruptedException {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().maximize();
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(3));
         driver.get("https://opensource-demo.orangehrmlive.com/web/index.php/auth/login");
@@ -179,7 +179,7 @@ public class AGroupJavaQATest {
     @Test
     public void swagLabTest() {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         driver.findElement(By.xpath("//input[@id = 'user-name']")).sendKeys("standard_user");
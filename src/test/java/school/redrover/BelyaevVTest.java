@@ -3,19 +3,19 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Action;
 import org.openqa.selenium.interactions.Actions;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import javax.swing.*;
+import school.redrover.runner.DriverFactory;
 
 public class BelyaevVTest {
 
     @Test
     public void testCheckResultSearch() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://thecode.media/");
 
         WebElement searchButton = driver.findElement(By.className("heading-search__open"));
@@ -36,7 +36,7 @@ public class BelyaevVTest {
 
     @Test
     public void testAppearedHeader() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://thecode.media/");
 
         WebElement searchArea = driver.findElement(By.className("tab-questions"));
@@ -3,8 +3,8 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertEquals;
 
@@ -13,7 +13,7 @@ public class CheripkoTest {
     @Test
     public void testAndromeda() {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://duckduckgo.com/");
 
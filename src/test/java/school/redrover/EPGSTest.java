@@ -3,7 +3,6 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -13,6 +12,7 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import java.time.Duration;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import school.redrover.runner.DriverFactory;
 
 public class EPGSTest {
     private WebDriver driver;
@@ -20,7 +20,7 @@ public class EPGSTest {
     @BeforeClass
     public void setUp() {
 //        WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
+        driver = DriverFactory.createRecyclableDriver();
         driver.manage().window().maximize();
     }
 
@@ -4,11 +4,11 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
 import java.util.List;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertEquals;
 
@@ -18,7 +18,7 @@ public class EkatTest {
     public void testSelenium() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.manage().timeouts().implicitlyWait(Duration.ofMillis(500));
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
@@ -39,7 +39,7 @@ public class EkatTest {
     public void testTitle() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://coffee-cart.app/");
 
         String title = driver.getTitle();
@@ -52,7 +52,7 @@ public class EkatTest {
     public void testMenuButtons() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://coffee-cart.app/");
 
         WebElement menuButton = driver.findElement(By.cssSelector("a[aria-label='Menu page']"));
@@ -71,7 +71,7 @@ public class EkatTest {
     public void testClickButtonCart() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://coffee-cart.app/");
 
         WebElement cartButton = driver.findElement(By.cssSelector("a[aria-label='Cart page']"));
@@ -85,7 +85,7 @@ public class EkatTest {
     public void testClickButtonGithub() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://coffee-cart.app/");
 
         WebElement gitButton = driver.findElement(By.cssSelector("a[aria-label='GitHub page']"));
@@ -99,7 +99,7 @@ public class EkatTest {
     public void testAmountOfCups() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://coffee-cart.app/");
 
         List<WebElement> cups = driver.findElements(By.className("cup-body"));
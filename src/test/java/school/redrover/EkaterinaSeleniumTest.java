@@ -2,8 +2,8 @@ package school.redrover;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertTrue;
 
@@ -12,7 +12,7 @@ public class EkaterinaSeleniumTest {
 
     @Test
     public void testSeleniumWebForms() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
 
         driver.findElement(By.id("my-text-id")).sendKeys("UserName");
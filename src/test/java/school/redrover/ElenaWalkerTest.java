@@ -3,18 +3,18 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
 
 
 public class ElenaWalkerTest {
     @Test
     public void FisrtTest(){
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.manage().timeouts().implicitlyWait(Duration.ofMillis(500));
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
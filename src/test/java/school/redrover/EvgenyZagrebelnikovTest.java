@@ -3,15 +3,15 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 public class EvgenyZagrebelnikovTest {
 
     @Test
     public void testTest() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://world-weather.ru/pogoda/");
 
         WebElement archiveButton = driver.findElement(By.xpath("//*[@id=\"meny\"]/li[2]/a"));
@@ -28,7 +28,7 @@ public class EvgenyZagrebelnikovTest {
 
     @Test
     public void testSearchAndSelectCity() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://openweathermap.org/");
 
         WebElement searchInputFieldAndEnterCityName = driver.findElement(By.xpath("//*[@id=" +
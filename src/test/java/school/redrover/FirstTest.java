@@ -3,16 +3,16 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 public class FirstTest {
 
     @Test
     public void testProductsMenu(){
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://automationexercise.com/");
 
         WebElement productsButton = driver.findElement(By.xpath("//a[@href='/products']"));
@@ -3,12 +3,12 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertEquals;
 
@@ -16,7 +16,7 @@ public class GoupAutosquadTest {
 
     @Test
     public void test(){
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().fullscreen();
         driver.get("https://the-internet.herokuapp.com");
         driver.findElement(By.linkText("Form Authentication")).click();
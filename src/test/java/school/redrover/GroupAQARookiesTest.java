@@ -3,19 +3,19 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.Select;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import school.redrover.runner.DriverFactory;
 
 public class GroupAQARookiesTest {
 
     @Test
     public void onlinerTest() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.onliner.by/");
         String title = driver.getTitle();
@@ -39,7 +39,7 @@ public class GroupAQARookiesTest {
 
     @Test
     public void testDuckDuckGo() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://duckduckgo.com/");
         driver.findElement(By.id("searchbox_input")).sendKeys("Selenium");
@@ -56,7 +56,7 @@ public class GroupAQARookiesTest {
 
     @Test
     public void testAddProductToTheCart() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().maximize();
         driver.get("https://theweldercatherine.ru/");
 
@@ -91,7 +91,7 @@ public class GroupAQARookiesTest {
 
     @Test
     public void testBookOldFarmhouse() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://automationintesting.online/");
         Thread.sleep(500);
 
@@ -112,7 +112,7 @@ public class GroupAQARookiesTest {
     @Test
     public void testSelenium() throws InterruptedException {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
 
@@ -138,7 +138,7 @@ public class GroupAQARookiesTest {
 
     @Test
     public void testErartaSearch() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.erarta.com");
 
@@ -168,7 +168,7 @@ public class GroupAQARookiesTest {
     }
     @Test
     public void testBankTransactions() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login");
         Thread.sleep(2000);
@@ -3,17 +3,17 @@ package school.redrover;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
 
 public class GroupBlohaTest {
 
     @Test
     public void magentoTest() {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
 
         driver.get("https://magento.softwaretestingboard.com/");
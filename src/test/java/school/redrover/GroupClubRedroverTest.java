@@ -3,39 +3,50 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.Select;
 import org.testng.annotations.*;
+import java.lang.reflect.Method;
 import java.time.Duration;
 
 
 import java.util.List;
+import school.redrover.runner.LinkChecker;
+import school.redrover.runner.SessionPool;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 
 public class GroupClubRedroverTest {
-    WebDriver driver;
     private static final String BASE_URL = "https://bonigarcia.dev/selenium-webdriver-java/";
 
+    private final SessionPool sessions = new SessionPool();
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
     @BeforeMethod
-    void setUp() {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--window-size=1920,1080");
-        driver = new ChromeDriver(options);
-        driver.get(BASE_URL);
+    void setUp(Method method) {
+        driver.set(sessions.lease(method));
+        getDriver().get(BASE_URL);
 
     }
 
     @AfterMethod
     void tearDown() {
-        driver.quit();
+        sessions.release(getDriver());
+        driver.remove();
+    }
+
+    @AfterClass(alwaysRun = true)
+    void closeSessions() {
+        sessions.close();
+    }
+
+    WebDriver getDriver() {
+        return driver.get();
     }
 
-    @DataProvider(name = "pageData")
+    @DataProvider(name = "pageData", parallel = true)
     public Object[][] providePageData() {
         return new Object[][]{
                 {"Chapter 3. WebDriver Fundamentals", "web-form.html", "Web form"},
@@ -68,32 +79,31 @@ public class GroupClubRedroverTest {
 
     @Test(dataProvider = "pageData", description = "Verify the functionality of all links on HomePage")
     void verifyHomePageLinks(String chapterName, String path, String title) {
-        driver.findElement(By.xpath("//h5[text() = '" + chapterName + "']/../a[@href = '" + path + "']")).click();
+        getDriver().findElement(By.xpath("//h5[text() = '" + chapterName + "']/../a[@href = '" + path + "']")).click();
 
-        String actualUrl = driver.getCurrentUrl();
-        String actualTitle = driver.findElement(By.className("display-6")).getText();
+        String actualUrl = getDriver().getCurrentUrl();
+        String actualTitle = getDriver().findElement(By.className("display-6")).getText();
         assertEquals(BASE_URL + path, actualUrl, "The URLs don't match");
         assertEquals(title, actualTitle, "The titles don't match");
     }
 
     @Test(description = "Verify the functionality of all links on HomePage another way")
     void verifyHomePageLinksAnotherWay() {
-        List<WebElement> chapters = driver.findElements(By.cssSelector(".card h5"));
+        List<WebElement> chapters = getDriver().findElements(By.cssSelector(".card h5"));
         assertEquals(chapters.size(), 6);
 
-        List<WebElement> links = driver.findElements(By.cssSelector(".card a"));
-        for (WebElement link : links) {
-            link.click();
-            driver.navigate().back();
+        List<LinkChecker.Link> links = LinkChecker.check(getDriver(), ".card a");
+        for (LinkChecker.Link link : links) {
+            assertTrue(link.isOk(), "Broken link: " + link);
         }
         assertEquals(links.size(), 27);
     }
 
     @Test(description = "Verify that all selects in the form function correctly and allow valid user interactions")
     void verifySelects() throws InterruptedException {
-        driver.findElement(By.xpath("//a[@href = 'web-form.html']")).click();
+        getDriver().findElement(By.xpath("//a[@href = 'web-form.html']")).click();
 
-        Select select = new Select(driver.findElement(By.name("my-select")));
+        Select select = new Select(getDriver().findElement(By.name("my-select")));
 
         List<WebElement> options = select.getOptions();
         assertEquals(options.size(), 4, "Dropdown should contain exactly 4 options.");
@@ -126,18 +136,18 @@ public class GroupClubRedroverTest {
 
     @Test(description = "Verify mouse moving over pictures")
     void verifyMouseMovingOverPictures() throws InterruptedException {
-        driver.get("https://bonigarcia.dev/selenium-webdriver-java/mouse-over.html");
+        getDriver().get("https://bonigarcia.dev/selenium-webdriver-java/mouse-over.html");
 
         String[] expectedText = {"Compass", "Calendar", "Award", "Landscape"};
 
-        List<WebElement> hoverElements = driver.findElements(By.cssSelector(".figure.text-center.col-3.py-2"));
+        List<WebElement> hoverElements = getDriver().findElements(By.cssSelector(".figure.text-center.col-3.py-2"));
 
-        Actions actions = new Actions(driver);
+        Actions actions = new Actions(getDriver());
         for (int i = 0; i < hoverElements.size(); i++) {
 
             WebElement element = hoverElements.get(i);
             actions.moveToElement(element.findElement(By.cssSelector(".img-fluid"))).perform();
-            WebElement textElement = driver.findElement(By.cssSelector(".lead.py-3"));
+            WebElement textElement = getDriver().findElement(By.cssSelector(".lead.py-3"));
 
             Thread.sleep(10);
             assertTrue(textElement.isDisplayed(), "The text did not appear after hover.");
@@ -4,8 +4,6 @@ import net.datafaker.Faker;
 import net.datafaker.providers.base.Text;
 import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.*;
-import org.openqa.selenium.Dimension;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -14,13 +12,15 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.awt.*;
-import java.awt.event.KeyEvent;
 import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.util.Locale;
 import java.util.Objects;
+import school.redrover.runner.DriverFactory;
+import school.redrover.runner.Keyboard;
+import school.redrover.runner.Uploads;
+import school.redrover.runner.Viewport;
 
 import static java.time.temporal.ChronoUnit.SECONDS;
 import static net.datafaker.providers.base.Text.*;
@@ -33,8 +33,8 @@ public class GroupCodeCraftTest {
 
     @BeforeMethod
     public void setUp() {
-        driver = new ChromeDriver();
-        driver.manage().window().setSize(new Dimension(1366, 768));
+        driver = DriverFactory.createDriver();
+        Viewport.set(driver, 1366, 768);
         wait = new WebDriverWait(driver, Duration.ofSeconds(10));
     }
 
@@ -249,7 +249,7 @@ public class GroupCodeCraftTest {
 
         File tempFile = File.createTempFile("temp", ".txt");
         FileUtils.writeStringToFile(tempFile, "This is a test file content.", "UTF-8");
-        fileInput.sendKeys(tempFile.getAbsolutePath());
+        Uploads.upload(driver, fileInput, tempFile.toPath());
         tempFile.deleteOnExit();
 
         WebElement checkedCheckbox = wait.until
@@ -488,10 +488,7 @@ public class GroupCodeCraftTest {
         DropdownDataList.sendKeys("Saint-Petersburg");
 
         WebElement fileInput = driver.findElement(By.xpath("//input[@type='file']"));
-        String relativeFilePath = "src/uploadFiles/java.png";
-        File fileToUpload = new File(relativeFilePath);
-        String absoluteFilePath = fileToUpload.getAbsolutePath();
-        fileInput.sendKeys(absoluteFilePath);
+        Uploads.upload(driver, fileInput, "uploadFiles/java.png");
 
         WebElement submitButton = driver.findElement(By.xpath("//button[text()='Submit']"));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", submitButton);
@@ -520,7 +517,7 @@ public class GroupCodeCraftTest {
 
     @Test
     public void testSearch() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://krasivoe.by/");
 
         WebElement input = driver.findElement(By.xpath("//*[@id=\"search\"]/input"));
@@ -640,7 +637,7 @@ public class GroupCodeCraftTest {
     }
 
     @Test
-    public void testFakeStoreShopping() throws InterruptedException, AWTException {
+    public void testFakeStoreShopping() throws InterruptedException {
         driver.get("https://letcode.in/home");
 
         driver.findElement(By.xpath("//*[@id=\"toggle-theme\"]")).click();
@@ -669,9 +666,7 @@ public class GroupCodeCraftTest {
                 .until(ExpectedConditions.elementToBeClickable(By.xpath("//button[text()='Checkout']")));
         checkoutButton.click();
 
-        Robot robot = new Robot();
-        robot.keyPress(KeyEvent.VK_ENTER);
-        robot.keyRelease(KeyEvent.VK_ENTER);
+        Keyboard.pressEnter(driver);
 
         Thread.sleep(5000);
         Assert.assertEquals(
@@ -4,9 +4,9 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 import static java.lang.Thread.sleep;
 import static org.testng.Assert.assertTrue;
@@ -17,7 +17,7 @@ public class GroupJavaESTTest {
     public void testSuccessfulLogin() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         driver.findElement(By.id("user-name")).sendKeys("standard_user");
@@ -33,7 +33,7 @@ public class GroupJavaESTTest {
     public void testLockedLogin() {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         driver.findElement(By.id("user-name")).sendKeys("locked_out_user");
@@ -46,7 +46,7 @@ public class GroupJavaESTTest {
     }
     @Test
     public void testLockedOutUserLogin() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com");
 
         String title = driver.getTitle();
@@ -72,7 +72,7 @@ public class GroupJavaESTTest {
 
     @Test
     public void testLogin() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com/");
 
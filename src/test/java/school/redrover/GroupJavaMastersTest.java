@@ -4,7 +4,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Wait;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -15,13 +14,14 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import school.redrover.runner.DriverFactory;
 
 
 public class GroupJavaMastersTest {
 
     @Test
     public void testLogin() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         WebElement userNameTextField = driver.findElement(By.id("user-name"));
@@ -42,7 +42,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testShoppingCart() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         driver.findElement(By.xpath("//*[@id=\"user-name\"]")).sendKeys("standard_user");
@@ -61,7 +61,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testLockedUserLogin() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         WebElement userNameTextField = driver.findElement(By.xpath("//form/div[1]/input[@class='input_error form_input']"));
@@ -82,7 +82,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testUpdateCountsOnCartIcon() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com/");
 
@@ -107,7 +107,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testSuccessfulLoginPage() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://practicetestautomation.com/practice-test-login/");
 
         WebElement usernameBox = driver.findElement(By.id("username"));
@@ -129,7 +129,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testInvalidUserLogin() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://practicetestautomation.com/practice-test-login/");
 
         WebElement usernameBox = driver.findElement(By.id("username"));
@@ -147,7 +147,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testRemoveItemFromCart() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com/");
 
@@ -177,7 +177,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testCheckDrawerItems() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         driver.findElement(By.cssSelector("#user-name")).sendKeys("standard_user");
@@ -200,7 +200,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testLoginWithValidData() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().setSize(new Dimension(1600, 900));
 
         driver.get("https://opensource-demo.orangehrmlive.com/web/index.php/auth/login");
@@ -220,7 +220,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testSelenuimMainPage() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
 
@@ -239,7 +239,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testBasicHtmlPage() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://testpages.eviltester.com/styled/basic-html-form-test.html");
 
@@ -263,7 +263,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testProductPage() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com/");
 
@@ -288,7 +288,7 @@ public class GroupJavaMastersTest {
 
     @Test
     public void testVisualUser() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com/");
 
@@ -306,7 +306,7 @@ public class GroupJavaMastersTest {
     public void Test3AddRemoveCart() {
         WebDriver driver;
 
-        driver = new ChromeDriver();
+        driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com/");
         driver.findElement(By.xpath("//*[@id=\"user-name\"]")).sendKeys("standard_user");
@@ -327,9 +327,9 @@ public class GroupJavaMastersTest {
     @Test
     public void Test2(){
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
-        driver = new ChromeDriver();
+        driver = DriverFactory.createDriver();
 
         driver.get("https://www.saucedemo.com");
         driver.getTitle();
@@ -2,13 +2,13 @@ package school.redrover;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.*;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.*;
 
@@ -19,7 +19,7 @@ public class GroupJavaNinjasTest {
     @BeforeSuite
     public void setup() {
         WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
+        driver = DriverFactory.createRecyclableDriver();
         driver.manage().window().maximize();
         driver.manage().deleteAllCookies();
     }
@@ -100,7 +100,7 @@ public class GroupJavaNinjasTest {
     //Alert
     @Test
     public void testAlert() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://bonigarcia.dev/selenium-webdriver-java/");
         driver.manage().window().maximize();
         driver.manage().deleteAllCookies();
@@ -122,7 +122,7 @@ public class GroupJavaNinjasTest {
     //Launch confirm
     @Test
     public void testLaunchConfirm(){
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://bonigarcia.dev/selenium-webdriver-java/");
         WebElement dialogBoxes = driver.findElement(By.xpath("//a[text() = 'Dialog boxes']"));
         dialogBoxes.click();
@@ -151,7 +151,7 @@ public class GroupJavaNinjasTest {
     @Test
     public void testSearchByTextLamoda() throws InterruptedException {
         WebDriverManager.chromedriver().setup();
-        driver = new ChromeDriver();
+        driver = DriverFactory.createDriver();
         driver.get("https://www.lamoda.ru/");
         String titleWebBrowser = driver.getTitle();
         assertEquals(titleWebBrowser, "Интернет магазин одежды и обуви. Купить обувь, купить одежду, аксессуары в онлайн магазине Lamoda.ru");
@@ -201,7 +201,7 @@ public class GroupJavaNinjasTest {
     public void testSeleniumForm() throws InterruptedException {
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
 
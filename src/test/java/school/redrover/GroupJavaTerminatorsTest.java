@@ -3,11 +3,11 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertEquals;
 
@@ -16,7 +16,7 @@ public class GroupJavaTerminatorsTest {
 
     public void authorizationSwagLabs() throws InterruptedException {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.saucedemo.com/");
 
         WebElement login = driver.findElement(By.cssSelector("#user-name"));
@@ -39,7 +39,7 @@ public class GroupJavaTerminatorsTest {
 
     @Test(description = "Check, that Sauce Labs Backpack has been added to the cart and total price is 32.39")
     public void totalOrderPriceTest() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
         driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(10));
         driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(10));
@@ -2,8 +2,6 @@ package school.redrover;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
@@ -13,10 +11,10 @@ import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import java.io.FileWriter;
-import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
+import school.redrover.runner.DriverFactory;
+import school.redrover.runner.ReportSink;
 
 
 public class GroupQAFokuzTest {
@@ -26,9 +24,7 @@ public class GroupQAFokuzTest {
 
     @BeforeMethod
     public void setUp() {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--window-size=1920,1080");
-        driver = new ChromeDriver(options);
+        driver = DriverFactory.createDriver();
         wait = new WebDriverWait(driver, Duration.ofSeconds(10));
     }
 
@@ -54,11 +50,9 @@ public class GroupQAFokuzTest {
                 System.out.println("Ошибка: Найдено меньше 2 товаров.");
             } else {
                 System.out.println("Проверка пройдена: найдено " + items.size() + " упоминаний ключевого слова 'iPhone'.");
-                try (FileWriter file = new FileWriter("src/test/resources/uploadFiles/results.txt")) {
+                try (ReportSink.ReportFile file = ReportSink.open("GroupQAFokuzTest", "results.txt")) {
                     file.write(String.valueOf(items.size()));
-                    System.out.println("Количество найденных товаров записано в results.txt.");
-                } catch (IOException e) {
-                    System.out.println("Ошибка при записи в файл: " + e.getMessage());
+                    System.out.println("Количество найденных товаров записывается в " + file.getPath());
                 }
             }
         } catch (Exception e) {
@@ -226,7 +220,7 @@ public class GroupQAFokuzTest {
     @Test
     public void testClickPinterest() throws InterruptedException {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://wonderl.ink/@fokuz.photo/");
         Thread.sleep(5000);
         WebElement pinterestButton = driver.findElement(By.linkText("Pinterest"));
@@ -252,7 +246,7 @@ public class GroupQAFokuzTest {
 // проверяет, что нажатие на кнопку Add добавляет элемент
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/");
         driver.manage().window().maximize();
 
@@ -279,7 +273,7 @@ public class GroupQAFokuzTest {
 //  проверяет, что ссылка в навигационной панели хедера работает корректно
         WebDriverManager.chromedriver().setup();
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://fokuz.photo/");
         driver.manage().window().maximize();
 
@@ -1,8 +1,6 @@
 package school.redrover;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.Dimension;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
@@ -10,10 +8,12 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
-import java.awt.*;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.stream.Stream;
+import school.redrover.runner.DriverFactory;
+import school.redrover.runner.Uploads;
+import school.redrover.runner.Viewport;
 
 import static org.apache.commons.io.function.IOConsumer.forEach;
 import static org.testng.Assert.*;
@@ -47,15 +47,8 @@ public class GroupRedRoverJavaUTC3Test {
 
     @BeforeMethod
     protected void start() {
-        driver = new ChromeDriver();
-
-        java.awt.Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
-        int screenWidth = (int) screenSize.getWidth();
-        int screenHeight = (int) screenSize.getHeight();
-        int browserWidth = Math.min(1920, screenWidth);
-        int browserHeight = Math.min(1080, screenHeight);
-        Dimension dimension = new Dimension(browserWidth, browserHeight);
-        driver.manage().window().setSize(dimension);
+        driver = DriverFactory.createDriver();
+        Viewport.desktop(driver);
     }
 
     @AfterMethod
@@ -366,10 +359,8 @@ public class GroupRedRoverJavaUTC3Test {
 
     @Test
     public void testFileUpload() {
-        final String imageFilePath = System.getProperty("user.dir") + "\\src\\test\\resources\\uploadFiles\\java.png";
-
         getDriver().get("https://the-internet.herokuapp.com/upload");
-        getDriver().findElement(By.id("file-upload")).sendKeys(imageFilePath);
+        Uploads.upload(getDriver(), getDriver().findElement(By.id("file-upload")), "uploadFiles/java.png");
 
         getDriver().findElement(By.id("file-submit")).click();
         getDriver().findElement(By.xpath("//div[@id='content']//h3")).getText();
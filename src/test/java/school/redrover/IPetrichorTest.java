@@ -3,13 +3,13 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import school.redrover.runner.DriverFactory;
 
 public class IPetrichorTest {
     private WebDriver driver;
@@ -17,7 +17,7 @@ public class IPetrichorTest {
     @BeforeMethod
     private void createDriver() {
         if(this.driver == null) {
-            this.driver = new ChromeDriver();
+            this.driver = DriverFactory.createDriver();
         }
     }
 
@@ -1,10 +1,8 @@
 package school.redrover;
 
-import net.datafaker.Faker;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.annotations.AfterMethod;
@@ -12,6 +10,8 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
+import school.redrover.runner.TestData;
 
 import static org.testng.Assert.assertEquals;
 
@@ -24,7 +24,7 @@ public class JavaRebelsTest {
 
     @BeforeMethod
     void setup() {
-        driver = new ChromeDriver();
+        driver = DriverFactory.createDriver();
         driver.manage().window().maximize();
         driver.get(BASE_URL);
         wait = new WebDriverWait(driver, Duration.ofSeconds(3));
@@ -54,8 +54,7 @@ public class JavaRebelsTest {
     }
 
     private String fillAndSubmitForm() {
-        Faker faker = new Faker();
-        String fakerName = faker.name().name();
+        String fakerName = TestData.nextPerson().getFullName();
 
         driver.findElement(By.name("name")).sendKeys(fakerName);
         driver.findElement(By.name("price")).sendKeys("2000");
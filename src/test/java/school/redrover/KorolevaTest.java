@@ -3,14 +3,14 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 public class KorolevaTest {
     @Test
     public void testStNina() throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("http://stninaorlando.org");
 
         WebElement input = driver.findElement(By.xpath("//input[@class='required email']"));
@@ -4,7 +4,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
@@ -13,6 +12,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
+import school.redrover.runner.DriverFactory;
 
 public class LKuletskaiaTest {
     private WebDriver driver;
@@ -20,7 +20,7 @@ public class LKuletskaiaTest {
 
     @BeforeMethod
     private void createDriver() {
-        driver = new ChromeDriver();
+        driver = DriverFactory.createDriver();
         driver.manage().window().setSize(new Dimension(1200, 800));
         driver.get("https://opensource-demo.orangehrmlive.com/web/index.php/auth/login");
         wait = new WebDriverWait(driver, Duration.ofSeconds(5));
@@ -4,9 +4,9 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 public class MyFirstTest {
 
@@ -14,7 +14,7 @@ public class MyFirstTest {
         public void firstTest () {
 
             WebDriverManager.chromedriver().setup();
-            WebDriver driver = new ChromeDriver();
+            WebDriver driver = DriverFactory.createDriver();
 
             driver.get("https://touristpass.jp/en/fuji_shizuoka/");
 
@@ -3,14 +3,14 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 public class PodkovaTest {
     @Test
     public void testTextBox() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://demoqa.com");
 
         WebElement elementsSection = driver.findElement(By.xpath("//h5[text()='Elements']"));
@@ -41,7 +41,7 @@ public class PodkovaTest {
 
     @Test
     public void testButton() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://demo.guru99.com/test/radio.html");
 
         WebElement option1 = driver.findElement(By.xpath("//input[@value='Option 1']"));
@@ -72,7 +72,7 @@ public class PodkovaTest {
     }
     @Test
     public void testLoginPage() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/login");
 
         driver.findElement(By.xpath("//input[@id='username']")).sendKeys("tomsmith");
@@ -91,7 +91,7 @@ public class PodkovaTest {
 
     @Test
     public void testDropdown() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/dropdown");
 
         WebElement dropdown = driver.findElement(By.id("dropdown"));
@@ -105,7 +105,7 @@ public class PodkovaTest {
 
     @Test
     public void testAddRemoveElements() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/add_remove_elements/");
         WebElement addButton = driver.findElement(By.xpath("//button[text()='Add Element']"));
         addButton.click();
@@ -121,7 +121,7 @@ public class PodkovaTest {
 
     @Test
     public void testJavaScriptAlerts() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/javascript_alerts");
         WebElement alertButton = driver.findElement(By.xpath("//button[text()='Click for JS Alert']"));
         alertButton.click();
@@ -137,7 +137,7 @@ public class PodkovaTest {
 
     @Test
     public void testCheckBoxes() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/checkboxes");
         WebElement checkbox1 = driver.findElement(By.xpath("//input[1]"));
         WebElement checkbox2 = driver.findElement(By.xpath("//input[2]"));
@@ -3,8 +3,8 @@ package school.redrover;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.annotations.Test;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.Assert.assertTrue;
 
@@ -25,7 +25,7 @@ public class SeleniumFormTest {
     @Test
     public void testSelenium() {
         WebDriverManager.chromedriver().setup();
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://www.selenium.dev/selenium/web/web-form.html");
 
         driver.findElement(textBox).sendKeys("Olga Sachkova");
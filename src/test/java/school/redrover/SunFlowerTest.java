@@ -1,14 +1,14 @@
 package school.redrover;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 import org.testng.annotations.*;
 import io.github.bonigarcia.wdm.WebDriverManager;
 
-import java.io.*;
 import java.time.Duration;
 import java.util.*;
+import school.redrover.runner.DriverFactory;
+import school.redrover.runner.ReportSink;
 
 public class SunFlowerTest {
 
@@ -18,7 +18,7 @@ public class SunFlowerTest {
     @BeforeMethod
     public void setUp() throws InterruptedException {
         WebDriverManager.chromedriver().driverVersion("135").setup();
-        driver = new ChromeDriver();
+        driver = DriverFactory.createDriver();
         driver.get(BASE_URL);
         driver.manage().window().maximize();
     }
@@ -62,7 +62,7 @@ public class SunFlowerTest {
 
     public void firstTest () throws InterruptedException {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://ingamejob.com/en");
         String pageTitle = driver.getTitle();
@@ -131,15 +131,18 @@ public class SunFlowerTest {
     public void testParseVisibleElementsWithText() {
         List<WebElement> elementsWithText = parseVisibleElementsWithText();
 
+        // Селектор и текст читаются из браузера один раз, дальше работаем только со строками
+        List<String[]> rows = describeElements(elementsWithText);
+
         // Генерация ASCII-таблицы
-        String table = buildTable(elementsWithText);
+        String table = buildTable(rows);
 
         // Печать в консоль
         System.out.println(table);
 
-        // Сохранение в файл
+        // Сохранение в target/reports/SunFlowerTest в фоновом потоке
         saveReportToFile("visible_elements_report.txt", table);
-        saveCsvReport("visible_elements_report.csv", elementsWithText);
+        saveCsvReport("visible_elements_report.csv", rows);
 
         // Тестовая проверка
         Assert.assertTrue(elementsWithText.size() > 0, "Не найдено ни одного видимого элемента с текстом.");
@@ -249,10 +252,21 @@ public class SunFlowerTest {
         return (String) jsExecutor.executeScript(js, element);
     }
 
+    /**
+     * Tag, селектор и текст каждого элемента
+     */
+    private List<String[]> describeElements(List<WebElement> elements) {
+        List<String[]> rows = new ArrayList<>(elements.size());
+        for (WebElement element : elements) {
+            rows.add(new String[]{element.getTagName(), getElementSelector(element), element.getText().trim()});
+        }
+        return rows;
+    }
+
     /**
      * Строит ASCII-таблицу
      */
-    private String buildTable(List<WebElement> elements) {
+    private String buildTable(List<String[]> rows) {
         StringBuilder table = new StringBuilder();
 
         String format = "| %-3s | %-10s | %-40s | %-30s |%n";
@@ -263,18 +277,16 @@ public class SunFlowerTest {
         table.append(String.format(separator));
 
         int index = 1;
-        for (WebElement element : elements) {
-            String tagName = element.getTagName();
-            String selector = getElementSelector(element);
-            String text = element.getText().trim().replaceAll("\\s+", " ");
+        for (String[] row : rows) {
+            String text = row[2].replaceAll("\\s+", " ");
 
             String truncatedText = text.length() > 28 ? text.substring(0, 25) + "..." : text;
 
-            table.append(String.format(format, index++, tagName, selector, truncatedText));
+            table.append(String.format(format, index++, row[0], row[1], truncatedText));
         }
 
         table.append(String.format(separator));
-        table.append(String.format("Всего видимых элементов с текстом: %d%n", elements.size()));
+        table.append(String.format("Всего видимых элементов с текстом: %d%n", rows.size()));
 
         return table.toString();
     }
@@ -283,33 +295,28 @@ public class SunFlowerTest {
      * Сохраняем ASCII-таблицу в txt файл
      */
     private void saveReportToFile(String filename, String content) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            writer.write(content);
-            System.out.println("Отчёт сохранён в файл: " + filename);
-        } catch (IOException e) {
-            System.out.println("Ошибка при сохранении отчёта: " + e.getMessage());
+        try (ReportSink.ReportFile report = ReportSink.open("SunFlowerTest", filename)) {
+            report.write(content);
+            System.out.println("Отчёт сохраняется в файл: " + report.getPath());
         }
     }
 
     /**
      * Сохраняем список элементов в CSV
      */
-    private void saveCsvReport(String filename, List<WebElement> elements) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename))) {
-            writer.write("№,Tag Name,Selector / XPath,Text\n");
+    private void saveCsvReport(String filename, List<String[]> rows) {
+        try (ReportSink.ReportFile report = ReportSink.open("SunFlowerTest", filename)) {
+            report.writeLine("№,Tag Name,Selector / XPath,Text");
 
             int index = 1;
-            for (WebElement element : elements) {
-                String tagName = element.getTagName();
-                String selector = getElementSelector(element).replace(",", ";");
-                String text = element.getText().trim().replaceAll("[\\r\\n]+", " ").replace(",", ";");
+            for (String[] row : rows) {
+                String selector = row[1].replace(",", ";");
+                String text = row[2].replaceAll("[\\r\\n]+", " ").replace(",", ";");
 
-                writer.write(String.format("%d,%s,%s,%s%n", index++, tagName, selector, text));
+                report.writeLine(String.format("%d,%s,%s,%s", index++, row[0], selector, text));
             }
 
-            System.out.println("CSV отчёт сохранён в файл: " + filename);
-        } catch (IOException e) {
-            System.out.println("Ошибка при сохранении CSV: " + e.getMessage());
+            System.out.println("CSV отчёт сохраняется в файл: " + report.getPath());
         }
     }
 }
@@ -5,18 +5,17 @@ import org.testng.annotations.Test;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
+import school.redrover.runner.DriverFactory;
+import school.redrover.runner.Uploads;
 
 public class ZarinaTests {
     @Test
     public void uploadImageTest() {
-
-        final String imageFilePath = System.getProperty("user.dir") + "\\src\\test\\resources\\uploadFiles\\java.png";
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/");
         driver.findElement(By.xpath("//a[@href='/upload']")).click();
-        driver.findElement(By.id("file-upload")).sendKeys(imageFilePath);
+        Uploads.upload(driver, driver.findElement(By.id("file-upload")), "uploadFiles/java.png");
         driver.findElement(By.id("file-submit")).click();
 
         WebElement successMessage = driver.findElement(By.xpath("//h3[text()='File Uploaded!']"));
@@ -27,7 +26,7 @@ public class ZarinaTests {
 
     @Test
     public void dragDropTest() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.get("https://the-internet.herokuapp.com/drag_and_drop");
 
         WebElement cubeA = driver.findElement(By.id("column-a"));
@@ -3,7 +3,6 @@ package school.redrover;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -14,6 +13,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import school.redrover.runner.DriverFactory;
 
 import static org.testng.AssertJUnit.assertEquals;
 
@@ -22,7 +22,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testProductToCart() throws InterruptedException {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(3));
         driver.manage().window().maximize();
 
@@ -50,7 +50,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testLogin() throws InterruptedException {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
 
         driver.manage().timeouts().implicitlyWait(Duration.ofMillis(500));
@@ -78,7 +78,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testFailedLogin() {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         String randomUserName = UUID.randomUUID().toString();
         String randomUserPswd = UUID.randomUUID().toString();
@@ -109,7 +109,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testLogIn() {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://demo.applitools.com/"); //открываем главную страницу
 
@@ -128,7 +128,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testTabletka() {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://tabletka.by/"); //открываем главную страницу
 
@@ -149,7 +149,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testSortItems() {
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         driver.manage().window().maximize();
         String expectedProductName = "Sauce Labs Onesie";
 
@@ -183,7 +183,7 @@ public class ZeroToQAHeroTest {
 
     @Test
     public void tesGlobalsqaCom() {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.get("https://www.globalsqa.com/angularJs-protractor/BankingProject/#/login");
         driver.manage().timeouts().implicitlyWait(Duration.ofMillis(1000));
@@ -204,7 +204,7 @@ public class ZeroToQAHeroTest {
 
     @Test
     public void testSettingFilters(){
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
         Actions actions = new Actions(driver);
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
         driver.get("https://www.parasoft.com/");
@@ -242,7 +242,7 @@ public class ZeroToQAHeroTest {
     @Test
     public void testRadio(){
 
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverFactory.createDriver();
 
         driver.manage().timeouts().implicitlyWait(Duration.ofMillis(500));
         driver.get("https://www.radiodetali.perm.ru/");
@@ -0,0 +1,102 @@
+package school.redrover.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the local driver strategies we can choose from in DriverManager.
+ * SampleTime mode prints p50/p95/p99 per benchmark; RSS of the browser process tree is printed after each trial.
+ * <p>
+ * Run: {@code mvn test -Pbenchmark -Djmh.include=DriverLifecycleBenchmark}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DriverLifecycleBenchmark {
+
+    private static final String DIRTY_PAGE = "data:text/html,<script>document.cookie='a=1';</script><p>benchmark</p>";
+
+    @Param({"true", "false"})
+    public boolean headless;
+
+    private final ProcessMemory memory = new ProcessMemory();
+
+    static ChromeOptions options(boolean headless) {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--no-sandbox", "--disable-dev-shm-usage", "--window-size=1920,1080");
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        return options;
+    }
+
+    @TearDown(Level.Trial)
+    public void reportMemory() {
+        memory.report("headless=" + headless);
+    }
+
+    @State(Scope.Thread)
+    public static class ReusedSession {
+
+        ChromeDriver driver;
+
+        @Setup(Level.Trial)
+        public void start(DriverLifecycleBenchmark benchmark) {
+            driver = new ChromeDriver(options(benchmark.headless));
+            benchmark.memory.sample();
+        }
+
+        @TearDown(Level.Trial)
+        public void quit() {
+            driver.quit();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DirtyPage {
+
+        @Setup(Level.Invocation)
+        public void dirty(ReusedSession session) {
+            session.driver.get(DIRTY_PAGE);
+        }
+    }
+
+    @Benchmark
+    public void newChromeDriverAndQuit() {
+        ChromeDriver driver = new ChromeDriver(options(headless));
+        try {
+            memory.sample();
+        } finally {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public void reusedSessionWithReset(ReusedSession session, DirtyPage page) {
+        ChromeDriver driver = session.driver;
+        ((JavascriptExecutor) driver).executeScript(
+                "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+        driver.manage().deleteAllCookies();
+        driver.get("about:blank");
+    }
+
+    @Benchmark
+    public Object cdpBrowserContextCreateDispose(ReusedSession session) {
+        ChromeDriver driver = session.driver;
+        Map<String, Object> context = driver.executeCdpCommand("Target.createBrowserContext", Map.of());
+        Object contextId = context.get("browserContextId");
+        Map<String, Object> target = driver.executeCdpCommand("Target.createTarget",
+                Map.of("url", "about:blank", "browserContextId", contextId));
+        memory.sample();
+        driver.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        return target.get("targetId");
+    }
+}
@@ -0,0 +1,95 @@
+package school.redrover.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Start of a test JVM up to where its first test would run ({@link StartupWorkload}), without and with an AppCDS
+ * archive dumped the way the {@code cds} profile does it. Class directories are jarred first, JDK 17 archives
+ * no classes from directories.
+ * <p>
+ * Run: {@code mvn test -Pbenchmark -Djmh.include=JvmStartupBenchmark}
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JvmStartupBenchmark {
+
+    @Param({"off", "on"})
+    public String cds;
+
+    private final Path dir = Path.of("target", "cds", "benchmark").toAbsolutePath();
+    private final Path archive = dir.resolve("startup.jsa");
+
+    private String classPath;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException, InterruptedException {
+        Files.createDirectories(dir);
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            entries.add(Files.isDirectory(path) ? jar(path, dir.resolve("classes-" + entries.size() + ".jar")) : entry);
+        }
+        classPath = String.join(File.pathSeparator, entries);
+
+        if (cds.equals("on")) {
+            Files.deleteIfExists(archive);
+            run("-XX:ArchiveClassesAtExit=" + archive);
+        }
+    }
+
+    @Benchmark
+    public int startTestJvm() throws IOException, InterruptedException {
+        return run(cds.equals("on") ? "-XX:SharedArchiveFile=" + archive : "-Xshare:auto");
+    }
+
+    private int run(String cdsOption) throws IOException, InterruptedException {
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                cdsOption,
+                "-Xlog:cds=off",
+                "-Dreports.dir=" + dir.resolve("reports"),
+                "-classpath", classPath,
+                StartupWorkload.class.getName());
+
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Test JVM exited with " + exitCode + ": " + command);
+        }
+        return exitCode;
+    }
+
+    private static String jar(Path classes, Path jar) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classes)) {
+            files = walk.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+        try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path file : files) {
+                output.putNextEntry(new JarEntry(classes.relativize(file).toString().replace(File.separatorChar, '/')));
+                Files.copy(file, output);
+                output.closeEntry();
+            }
+        }
+        return jar.toString();
+    }
+}
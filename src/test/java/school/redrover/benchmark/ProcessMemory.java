@@ -0,0 +1,42 @@
+package school.redrover.benchmark;
+
+import school.redrover.runner.SessionMemory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resident set size of the browser processes started by this JVM (chromedriver and every chrome child).
+ * Reads {@code /proc/<pid>/status}, so it only works for local sessions on Linux; elsewhere it returns 0.
+ */
+final class ProcessMemory {
+
+    private final List<Long> samples = Collections.synchronizedList(new ArrayList<>());
+
+    static long currentBrowserRssKb() {
+        return ProcessHandle.current().descendants()
+                .mapToLong(process -> SessionMemory.rssKb(process.pid()))
+                .sum();
+    }
+
+    void sample() {
+        samples.add(currentBrowserRssKb());
+    }
+
+    void report(String label) {
+        List<Long> sorted = new ArrayList<>(samples);
+        if (sorted.isEmpty()) {
+            return;
+        }
+        Collections.sort(sorted);
+        System.out.printf("%n[rss] %s: sessions=%d p50=%d KB p95=%d KB p99=%d KB%n",
+                label, sorted.size(), percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        samples.clear();
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
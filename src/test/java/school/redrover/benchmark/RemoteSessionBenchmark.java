@@ -0,0 +1,42 @@
+package school.redrover.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * New session plus quit through the docker-compose Selenium hub ({@code docker compose up selenium-hub chrome}).
+ * The browser runs on the node, so RSS has to be read there ({@code docker stats}); only latency is measured here.
+ * <p>
+ * Run: {@code mvn test -Pbenchmark -Djmh.include=RemoteSessionBenchmark -Djmh.args="-p hubUrl=http://localhost:4444/wd/hub"}
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RemoteSessionBenchmark {
+
+    @Param({"http://localhost:4444/wd/hub"})
+    public String hubUrl;
+
+    @Param({"true", "false"})
+    public boolean headless;
+
+    private URL hub;
+
+    @Setup(Level.Trial)
+    public void resolveHub() throws MalformedURLException {
+        hub = new URL(hubUrl);
+    }
+
+    @Benchmark
+    public void remoteSessionAndQuit() {
+        RemoteWebDriver driver = new RemoteWebDriver(hub, DriverLifecycleBenchmark.options(headless));
+        driver.quit();
+    }
+}
@@ -0,0 +1,62 @@
+package school.redrover.benchmark;
+
+import org.openqa.selenium.json.Json;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.TestNG;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import school.redrover.runner.BrowserProfile;
+import school.redrover.runner.TestData;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What a test JVM does before its first test, without a browser: TestNG starts a suite with all listeners of
+ * the project, the browser options are built, the Selenium classes the tests use are loaded and the first fake
+ * person is generated.
+ * <p>
+ * As a listener it is the training run of the {@code cds} profile ({@code src/test/resources/cds-training.xml}),
+ * whose JVM dumps the classes loaded by then into the AppCDS archive. {@link #main} is the same in a JVM of its own,
+ * timed by {@link JvmStartupBenchmark}.
+ */
+public class StartupWorkload implements ISuiteListener {
+
+    private static final List<String> SELENIUM_CLASSES = List.of(
+            "org.openqa.selenium.chrome.ChromeDriver",
+            "org.openqa.selenium.remote.RemoteWebDriver",
+            "org.openqa.selenium.remote.Augmenter",
+            "org.openqa.selenium.support.events.EventFiringDecorator",
+            "org.openqa.selenium.support.ui.WebDriverWait",
+            "org.openqa.selenium.support.ui.ExpectedConditions",
+            "org.openqa.selenium.interactions.Actions",
+            "org.openqa.selenium.By");
+
+    public static void main(String[] args) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("startup");
+        suite.addListener(StartupWorkload.class.getName());
+        new XmlTest(suite).setName("startup");
+        TestNG testng = new TestNG();
+        testng.setXmlSuites(List.of(suite));
+        testng.setUseDefaultListeners(false);
+        testng.setVerbose(0);
+        testng.run();
+
+        System.exit(0);
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        BrowserProfile.current().createOptions();
+        for (String name : SELENIUM_CLASSES) {
+            try {
+                Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        new Json().toJson(Map.of("person", TestData.nextPerson().toString()));
+    }
+}
@@ -0,0 +1,100 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+
+/**
+ * Named Chrome setups. One profile applies to every driver of the run, chosen by {@code -Dbrowser.profile=...}
+ * or the {@code BROWSER_PROFILE} variable; without either, runs inside docker-compose ({@code HUB_HOST} is set)
+ * use {@link #GRID}, everything else {@link #DEBUG_HEADED}. Arguments from {@code CHROME_OPTIONS} are added last.
+ */
+public enum BrowserProfile {
+
+    FAST_HEADLESS("fast-headless", false,
+            "--headless=new", "--disable-gpu", "--disable-extensions", "--mute-audio"),
+
+    DEBUG_HEADED("debug-headed", false),
+
+    GRID("grid", true),
+
+    LOW_MEMORY("low-memory", false, LowMemory.ARGUMENTS),
+
+    GRID_LOW_MEMORY("grid-low-memory", true, LowMemory.ARGUMENTS);
+
+    /**
+     * Chrome without the services a test never needs, and with all sites sharing at most
+     * {@code --renderer-process-limit} renderers instead of one process per site. Lets a node with a 2 GB
+     * {@code /dev/shm} run more sessions at once; {@link SessionMemoryListener} reports what each session takes.
+     */
+    private static final class LowMemory {
+        static final String[] ARGUMENTS = {
+                "--headless=new", "--disable-gpu", "--disable-extensions", "--mute-audio",
+                "--disable-background-networking", "--disable-renderer-backgrounding",
+                "--disable-component-update", "--disable-default-apps", "--disable-sync", "--no-first-run",
+                "--disable-features=site-per-process,IsolateOrigins,Translate,MediaRouter,OptimizationHints",
+                "--renderer-process-limit=2"
+        };
+    }
+
+    private static final List<String> COMMON_ARGUMENTS =
+            List.of("--no-sandbox", "--disable-dev-shm-usage", "--window-size=1920,1080");
+
+    private final String name;
+    private final boolean remote;
+    private final List<String> arguments;
+
+    BrowserProfile(String name, boolean remote, String... arguments) {
+        this.name = name;
+        this.remote = remote;
+        this.arguments = List.of(arguments);
+    }
+
+    public static BrowserProfile current() {
+        String name = ProjectUtils.getProperty("browser.profile", System.getenv("BROWSER_PROFILE"));
+        if (name == null || name.isBlank()) {
+            return System.getenv("HUB_HOST") != null ? GRID : DEBUG_HEADED;
+        }
+
+        for (BrowserProfile profile : values()) {
+            if (profile.name.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown browser profile: " + name);
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    public ChromeOptions createOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(PageLoadStrategy.NORMAL);
+        options.addArguments(COMMON_ARGUMENTS);
+        options.addArguments(arguments);
+        options.addArguments(ProjectUtils.getChromeArguments());
+        return options;
+    }
+
+    /**
+     * Selenium Grid hub: {@code -Dselenium.hub=...}, else {@code HUB_HOST} from docker-compose, else {@code selenium-hub}.
+     */
+    static URL getHubUrl() {
+        String host = System.getenv("HUB_HOST") != null ? System.getenv("HUB_HOST") : "selenium-hub";
+        String url = ProjectUtils.getProperty("selenium.hub", "http://" + host + ":4444/wd/hub");
+        try {
+            return new URL(url);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Wrong Selenium Grid hub URL: " + url, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,92 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single place where tests get their browser. Options come from the run's {@link BrowserProfile}, so switching
+ * the whole suite to headless or to the grid needs no change in test classes.
+ * Every driver is wrapped with the step timing listener and, unless {@code -Dpage.timing=false},
+ * the page load timing listener, so the time of each test can be broken down without touching the test code.
+ */
+public final class DriverFactory {
+
+    private static final StepTimingDriverListener STEP_TIMING_LISTENER = new StepTimingDriverListener();
+    private static final SessionEndDriverListener SESSION_END_LISTENER = new SessionEndDriverListener();
+
+    private DriverFactory() {
+    }
+
+    public static WebDriver createDriver() {
+        return createDriver(BrowserProfile.current(), new ChromeOptions());
+    }
+
+    /**
+     * Driver of the current profile with a few test specific options on top.
+     */
+    public static WebDriver createDriver(ChromeOptions extraOptions) {
+        return createDriver(BrowserProfile.current(), extraOptions);
+    }
+
+    public static WebDriver createDriver(BrowserProfile profile) {
+        return createDriver(profile, new ChromeOptions());
+    }
+
+    /**
+     * Driver for a whole class or suite: the browser session behind it is replaced when it degrades,
+     * see {@link RecyclableDriver}.
+     */
+    public static WebDriver createRecyclableDriver() {
+        BrowserProfile profile = BrowserProfile.current();
+        return RecyclableDriver.create(() -> createRawDriver(profile, new ChromeOptions()));
+    }
+
+    /**
+     * Driver already logged in to Jenkins as the admin, see {@link JenkinsSession}.
+     */
+    public static WebDriver createJenkinsDriver() {
+        WebDriver driver = createRawDriver(BrowserProfile.current(), new ChromeOptions());
+        JenkinsSession.login(driver);
+        return decorate(driver);
+    }
+
+    private static WebDriver createDriver(BrowserProfile profile, ChromeOptions extraOptions) {
+        return decorate(createRawDriver(profile, extraOptions));
+    }
+
+    static WebDriver createRawDriver(BrowserProfile profile, ChromeOptions extraOptions) {
+        ChromeOptions options = profile.createOptions().merge(extraOptions);
+        // browser console log for FailureCaptureListener
+        options.setCapability(ChromeOptions.LOGGING_PREFS, Map.of(LogType.BROWSER, "ALL"));
+
+        long start = System.nanoTime();
+        WebDriver driver = profile.isRemote()
+                ? new Augmenter().augment(new RemoteWebDriver(BrowserProfile.getHubUrl(), options))
+                : new ChromeDriver(options);
+        StepTimings.addSince(StepCategory.LAUNCH, start);
+        Sessions.register(driver);
+        ScreencastRecorder.start(driver, profile);
+        return driver;
+    }
+
+    static WebDriver decorate(WebDriver driver) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (PageTimings.isEnabled()) {
+            listeners.add(new PageTimingDriverListener(driver));
+        }
+        listeners.add(STEP_TIMING_LISTENER);
+        listeners.add(SESSION_END_LISTENER);
+
+        return new EventFiringDecorator<>(WebDriver.class, listeners.toArray(new WebDriverListener[0])).decorate(driver);
+    }
+}
@@ -0,0 +1,19 @@
+package school.redrover.runner;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Runs the health check of the {@link RecyclableDriver recyclable drivers} the test method has used,
+ * before {@code @AfterMethod} and the next test.
+ */
+public class DriverHealthListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            RecyclableDriver.checkUsedByCurrentThread();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * On a test failure, and only then, grabs a screenshot, the page source, the browser console log and the
+ * {@link ScreencastRecorder} frames of every session the test has open, right after the test method and before
+ * {@code @AfterMethod} quits the driver.
+ * <p>
+ * The test thread only pulls the raw data out of the browser. Chrome encodes the screenshot as WebP itself
+ * ({@code Page.captureScreenshot}), other drivers give a PNG. Decoding, zipping the page source with the console
+ * log, muxing the video and writing to {@code target/failures/<test>} happen on a background executor. Capture time and artifact
+ * sizes are logged and summarized in {@code target/failures/failures.json}. Disable with {@code -Dfailure.capture=false}.
+ */
+public class FailureCaptureListener implements IInvokedMethodListener, IReporter {
+
+    private static final ExecutorService WRITER = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "failure-capture");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static final Queue<Map<String, Object>> CAPTURES = new ConcurrentLinkedQueue<>();
+
+    private static final Queue<Future<?>> PENDING = new ConcurrentLinkedQueue<>();
+
+    private static final class Snapshot {
+        String screenshot;
+        String screenshotType;
+        String pageSource;
+        List<LogEntry> console = List.of();
+        List<ScreencastRecorder.Frame> video = List.of();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE
+                || !Boolean.parseBoolean(System.getProperty("failure.capture", "true"))) {
+            return;
+        }
+
+        List<WebDriver> drivers = Sessions.openSince(0);
+        if (drivers.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (WebDriver driver : drivers) {
+            snapshots.add(snapshot(driver));
+        }
+        long captureMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        StepTimings.resetIdleClock();
+
+        String test = TestTiming.nameOf(testResult);
+        Path dir = ProjectUtils.getReportDir("failures")
+                .resolve(String.format("%03d-%s", SEQUENCE.incrementAndGet(), test.replaceAll("[^\\w.-]+", "_")));
+        PENDING.add(WRITER.submit(() -> write(test, dir, snapshots, captureMillis)));
+    }
+
+    private static Snapshot snapshot(WebDriver driver) {
+        Snapshot snapshot = new Snapshot();
+        try {
+            if (driver instanceof HasCdp) {
+                snapshot.screenshot = (String) ((HasCdp) driver).executeCdpCommand("Page.captureScreenshot",
+                        Map.of("format", "webp", "quality", 80)).get("data");
+                snapshot.screenshotType = "webp";
+            } else if (driver instanceof TakesScreenshot) {
+                snapshot.screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+                snapshot.screenshotType = "png";
+            }
+        } catch (WebDriverException e) {
+            ProjectUtils.log("Cannot take failure screenshot: " + e.getMessage());
+        }
+        try {
+            snapshot.pageSource = driver.getPageSource();
+        } catch (WebDriverException e) {
+            ProjectUtils.log("Cannot get failure page source: " + e.getMessage());
+        }
+        try {
+            snapshot.console = driver.manage().logs().get(LogType.BROWSER).getAll();
+        } catch (WebDriverException e) {
+            // the driver does not keep browser logs
+        }
+        snapshot.video = ScreencastRecorder.lastFrames(driver);
+        return snapshot;
+    }
+
+    private static void write(String test, Path dir, List<Snapshot> snapshots, long captureMillis) {
+        long start = System.nanoTime();
+        long bytes = 0;
+        try {
+            Files.createDirectories(dir);
+            for (int i = 0; i < snapshots.size(); i++) {
+                Snapshot snapshot = snapshots.get(i);
+                String prefix = snapshots.size() == 1 ? "" : "session" + (i + 1) + "-";
+
+                if (snapshot.screenshot != null) {
+                    Path screenshot = dir.resolve(prefix + "screenshot." + snapshot.screenshotType);
+                    Files.write(screenshot, Base64.getDecoder().decode(snapshot.screenshot));
+                    bytes += Files.size(screenshot);
+                }
+
+                Path page = dir.resolve(prefix + "page.zip");
+                try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(page))) {
+                    if (snapshot.pageSource != null) {
+                        addEntry(zip, "page-source.html", snapshot.pageSource);
+                    }
+                    StringBuilder console = new StringBuilder();
+                    for (LogEntry entry : snapshot.console) {
+                        console.append(entry).append(System.lineSeparator());
+                    }
+                    addEntry(zip, "console.log", console.toString());
+                }
+                bytes += Files.size(page);
+
+                if (!snapshot.video.isEmpty()) {
+                    bytes += MjpegAviWriter.write(dir.resolve(prefix + "video.avi"), snapshot.video);
+                }
+            }
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write failure artifacts of " + test + ": " + e.getMessage());
+            return;
+        }
+
+        long writeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ProjectUtils.log(String.format("Failure artifacts of %s: %s, %d KB, captured in %d ms, written in %d ms",
+                test, dir, bytes / 1024, captureMillis, writeMillis));
+
+        Map<String, Object> capture = new LinkedHashMap<>();
+        capture.put("test", test);
+        capture.put("dir", dir.toString());
+        capture.put("sessions", snapshots.size());
+        capture.put("bytes", bytes);
+        capture.put("captureMs", captureMillis);
+        capture.put("writeMs", writeMillis);
+        CAPTURES.add(capture);
+    }
+
+    private static void addEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        // a reused fork reports after every test class: the executor stays up, only the writes so far are awaited
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        Future<?> pending;
+        while ((pending = PENDING.poll()) != null) {
+            try {
+                pending.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                ProjectUtils.log("Failure artifacts are still being written");
+                break;
+            } catch (ExecutionException e) {
+                ProjectUtils.log("Cannot write failure artifacts: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (CAPTURES.isEmpty()) {
+            return;
+        }
+        try {
+            Files.writeString(ProjectUtils.getReportDir("failures").resolve("failures.json"),
+                    new Json().toJson(new ArrayList<>(CAPTURES)), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write failure summary: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package school.redrover.runner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Flakiness score of a test method from {@link RunHistory}: the share of status flips (PASS to FAIL or back)
+ * between consecutive attempts over the last {@code flaky.window} attempts (30 by default).
+ * Retried attempts are in the history too, so a fail-then-pass retry counts as a flip.
+ * A test that always fails scores 0: it is broken, not flaky, and retrying it would only waste time.
+ * A test with fewer than {@code flaky.minRuns} attempts (10) has no score yet, so a test that just broke is not
+ * taken for a flaky one.
+ * <p>
+ * Thresholds: {@code flaky.retryThreshold} (0.03, one flip in a full window of 30 scores 1/29) makes a test retryable,
+ * {@code flaky.quarantineThreshold} (0.3) moves it to the non-blocking {@value #QUARANTINE_GROUP} group. Only a test
+ * that has recovered from a failure (FAIL then PASS) in the window can be quarantined, and never while its last
+ * {@code flaky.brokenRuns} attempts (3) all failed: that is a regression, and it must fail the build.
+ */
+public final class Flakiness {
+
+    public static final String QUARANTINE_GROUP = "quarantine";
+
+    private static volatile Map<String, Double> scores;
+    private static volatile Map<String, Double> methodScores;
+    private static volatile Set<String> quarantinable;
+
+    private Flakiness() {
+    }
+
+    /**
+     * Score of one invocation, {@code SimpleClassName.method(params)}, or the worst row of a data-driven
+     * method when {@code test} has no parameters part.
+     */
+    public static double score(String test) {
+        loadScores();
+        Double score = scores.get(test);
+        if (score == null && test.indexOf('(') < 0) {
+            score = methodScores.get(test);
+        }
+        return score == null ? 0.0 : score;
+    }
+
+    public static boolean isKnownFlaky(String test) {
+        double score = score(test);
+        return score > 0 && score >= Double.parseDouble(System.getProperty("flaky.retryThreshold", "0.03"));
+    }
+
+    public static boolean isQuarantined(String test) {
+        return score(test) >= Double.parseDouble(System.getProperty("flaky.quarantineThreshold", "0.3"))
+                && quarantinable.contains(test);
+    }
+
+    private static String methodOf(String test) {
+        int bracket = test.indexOf('(');
+        return bracket < 0 ? test : test.substring(0, bracket);
+    }
+
+    private static void loadScores() {
+        if (scores == null) {
+            synchronized (Flakiness.class) {
+                if (scores == null) {
+                    List<RunHistory.Entry> history = RunHistory.load();
+                    int window = Integer.getInteger("flaky.window", 30);
+                    Map<String, Double> computed = computeScores(history, window);
+                    Map<String, Double> byMethod = new HashMap<>();
+                    computed.forEach((test, score) -> byMethod.merge(methodOf(test), score, Math::max));
+                    Set<String> recovering = findQuarantinable(history, window);
+                    recovering.addAll(recovering.stream().map(Flakiness::methodOf).toList());
+                    quarantinable = recovering;
+                    methodScores = byMethod;
+                    scores = computed;
+                }
+            }
+        }
+    }
+
+    static Map<String, Double> computeScores(List<RunHistory.Entry> history, int window) {
+        int minRuns = Math.max(2, Integer.getInteger("flaky.minRuns", 10));
+        Map<String, Double> result = new HashMap<>();
+        recentStatuses(history, window).forEach((test, recent) -> {
+            if (recent.size() < minRuns) {
+                return;
+            }
+            int flips = 0;
+            for (int i = 1; i < recent.size(); i++) {
+                if (!recent.get(i).equals(recent.get(i - 1))) {
+                    flips++;
+                }
+            }
+            result.put(test, (double) flips / (recent.size() - 1));
+        });
+        return result;
+    }
+
+    /**
+     * Tests that recovered from a failure in the window and whose last {@code flaky.brokenRuns} attempts did not
+     * all fail.
+     */
+    static Set<String> findQuarantinable(List<RunHistory.Entry> history, int window) {
+        int brokenRuns = Math.max(1, Integer.getInteger("flaky.brokenRuns", 3));
+        Set<String> result = new HashSet<>();
+        recentStatuses(history, window).forEach((test, recent) -> {
+            boolean recovered = false;
+            for (int i = 1; i < recent.size() && !recovered; i++) {
+                recovered = "FAIL".equals(recent.get(i - 1)) && "PASS".equals(recent.get(i));
+            }
+            boolean broken = recent.size() >= brokenRuns && recent.subList(recent.size() - brokenRuns, recent.size())
+                    .stream().allMatch("FAIL"::equals);
+            if (recovered && !broken) {
+                result.add(test);
+            }
+        });
+        return result;
+    }
+
+    private static Map<String, List<String>> recentStatuses(List<RunHistory.Entry> history, int window) {
+        Map<String, List<String>> statuses = new HashMap<>();
+        for (RunHistory.Entry entry : history) {
+            if ("PASS".equals(entry.status) || "FAIL".equals(entry.status)) {
+                statuses.computeIfAbsent(entry.test, k -> new ArrayList<>()).add(entry.status);
+            }
+        }
+        statuses.replaceAll((test, all) -> all.subList(Math.max(0, all.size() - window), all.size()));
+        return statuses;
+    }
+}
@@ -0,0 +1,30 @@
+package school.redrover.runner;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Retries a failed test only when its history says it is flaky, up to {@code flaky.maxRetries} times (1 by default).
+ * <p>
+ * Before the retry, the sessions the failed attempt opened inside the test method are quit; sessions from
+ * {@code @BeforeMethod} are closed by the test's own {@code @AfterMethod} and created again for the retry.
+ * So the retry always starts from a fresh browser, and only the failed test runs again, not the whole suite.
+ */
+public class FlakyRetryAnalyzer implements IRetryAnalyzer {
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        String test = TestTiming.nameOf(result);
+        if (retries >= Integer.getInteger("flaky.maxRetries", 1) || !Flakiness.isKnownFlaky(test)) {
+            return false;
+        }
+
+        retries++;
+        Sessions.quitCreatedSince(result.getStartMillis());
+        ProjectUtils.log(String.format("Retrying flaky test %s (score %.2f), attempt %d",
+                test, Flakiness.score(test), retries + 1));
+        return true;
+    }
+}
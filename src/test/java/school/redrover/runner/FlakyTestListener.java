@@ -0,0 +1,63 @@
+package school.redrover.runner;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+import org.testng.annotations.ITestAnnotation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+/**
+ * Wires {@link Flakiness} into every test without touching the test classes:
+ * <ul>
+ *     <li>adds the groups from {@link TestGroups} first, since this is the one annotation transformer of the run;</li>
+ *     <li>sets {@link FlakyRetryAnalyzer} on every {@code @Test} that has no retry analyzer of its own;</li>
+ *     <li>adds quarantined methods to the {@value Flakiness#QUARANTINE_GROUP} group, so a suite can run them
+ *     separately or exclude them;</li>
+ *     <li>turns a failure of a quarantined test into a skip, so it never breaks the build.
+ *     The original status is kept in the {@value #ORIGINAL_STATUS} attribute and goes to the run history.</li>
+ * </ul>
+ */
+public class FlakyTestListener implements IAnnotationTransformer, IInvokedMethodListener {
+
+    static final String ORIGINAL_STATUS = "flaky.originalStatus";
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (testMethod == null) {
+            return;
+        }
+
+        TestGroups.apply(annotation, testMethod);
+
+        if (annotation.getRetryAnalyzerClass() == null
+                || annotation.getRetryAnalyzerClass().getName().equals("org.testng.internal.annotations.DisabledRetryAnalyzer")) {
+            annotation.setRetryAnalyzer(FlakyRetryAnalyzer.class);
+        }
+
+        String test = testMethod.getDeclaringClass().getSimpleName() + "." + testMethod.getName();
+        if (Flakiness.isQuarantined(test)) {
+            String[] groups = Arrays.copyOf(annotation.getGroups(), annotation.getGroups().length + 1);
+            groups[groups.length - 1] = Flakiness.QUARANTINE_GROUP;
+            annotation.setGroups(groups);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.FAILURE) {
+            return;
+        }
+
+        String test = TestTiming.nameOf(testResult);
+        if (Flakiness.isQuarantined(test)) {
+            testResult.setAttribute(ORIGINAL_STATUS, ITestResult.FAILURE);
+            testResult.setStatus(ITestResult.SKIP);
+            ProjectUtils.log(String.format("Quarantined test %s failed (score %.2f), reported as skipped",
+                    test, Flakiness.score(test)));
+        }
+    }
+}
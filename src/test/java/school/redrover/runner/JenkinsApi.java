@@ -0,0 +1,339 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Jenkins REST client for test preconditions: jobs, folders, views and users are created and deleted over HTTP
+ * with {@code config.xml} posts, so UI tests only click through the feature they test.
+ * <p>
+ * Connects to {@link ProjectUtils#getUrl()} as the admin from {@code APP_OPTIONS}. The first call logs in with the
+ * password, fetches a CSRF crumb once for the session and generates an API token; every later call authenticates with
+ * the token, which Jenkins does not ask a crumb for. An {@code admin.token} in {@code APP_OPTIONS} is used as is.
+ * One client per JVM is enough: {@link #get()}.
+ */
+public final class JenkinsApi {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private static JenkinsApi instance;
+
+    private final String url = ProjectUtils.getUrl();
+    private final String user = ProjectUtils.getUserName();
+    private final HttpClient client = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .connectTimeout(TIMEOUT)
+            .build();
+    private final Json json = new Json();
+
+    private volatile String token = ProjectUtils.getProperty("admin.token", null);
+    private Map<String, String> crumb;
+
+    private JenkinsApi() {
+    }
+
+    public static synchronized JenkinsApi get() {
+        if (instance == null) {
+            instance = new JenkinsApi();
+        }
+        return instance;
+    }
+
+    public static String freestyleJobXml() {
+        return "<project><builders/><publishers/><buildWrappers/></project>";
+    }
+
+    public static String pipelineXml(String script) {
+        return "<flow-definition plugin=\"workflow-job\">"
+                + "<definition class=\"org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition\" plugin=\"workflow-cps\">"
+                + "<script>" + escapeXml(script) + "</script><sandbox>true</sandbox></definition></flow-definition>";
+    }
+
+    public static String folderXml() {
+        return "<com.cloudbees.hudson.plugins.folder.Folder plugin=\"cloudbees-folder\"/>";
+    }
+
+    public static String listViewXml(String name, String... jobNames) {
+        StringBuilder xml = new StringBuilder("<hudson.model.ListView><name>").append(escapeXml(name))
+                .append("</name><jobNames><comparator class=\"hudson.util.CaseInsensitiveComparator\"/>");
+        for (String job : jobNames) {
+            xml.append("<string>").append(escapeXml(job)).append("</string>");
+        }
+        return xml.append("</jobNames><recurse>false</recurse></hudson.model.ListView>").toString();
+    }
+
+    /**
+     * Creates an item from its {@code config.xml}; {@code path} is {@code name} or {@code folder/name}.
+     */
+    public void createItem(String path, String configXml) {
+        join(createItemAsync(path, configXml));
+    }
+
+    /**
+     * Creates a view from its {@code config.xml}; {@code path} is {@code name} or {@code folder/name} for a view
+     * inside a folder, which lists the jobs of that folder.
+     */
+    public void createView(String path, String configXml) {
+        int slash = path.lastIndexOf('/');
+        String parent = slash < 0 ? "" : itemUrl(path.substring(0, slash));
+        join(post(parent + "createView?name=" + encode(path.substring(slash + 1)), "application/xml", configXml));
+    }
+
+    public void createUser(String name, String password) {
+        join(createUserAsync(name, password));
+    }
+
+    public void deleteItem(String path) {
+        join(post(itemUrl(path) + "doDelete", null, ""));
+    }
+
+    public void deleteView(String name) {
+        join(post("view/" + encode(name) + "/doDelete", null, ""));
+    }
+
+    public void deleteUser(String name) {
+        join(post("securityRealm/user/" + encode(name) + "/doDelete", null, ""));
+    }
+
+    public String getItemConfig(String path) {
+        return join(request("GET", itemUrl(path) + "config.xml", null, null));
+    }
+
+    public Map<String, Object> getJson(String path) {
+        return json.toType(join(request("GET", path, null, null)), Json.MAP_TYPE);
+    }
+
+    /**
+     * Runs a Groovy script in the script console; returns what it printed.
+     */
+    public String runScript(String groovy) {
+        return join(post("scriptText", "application/x-www-form-urlencoded", "script=" + encode(groovy)));
+    }
+
+    /**
+     * Preconditions created in as few round trips as possible: folders level by level, everything else at once.
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    public final class Batch {
+        private final Map<String, String> items = new LinkedHashMap<>();
+        private final Map<String, String> views = new LinkedHashMap<>();
+        private final Map<String, String> users = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        public Batch folder(String path) {
+            items.put(path, folderXml());
+            return this;
+        }
+
+        public Batch freestyleJob(String path) {
+            items.put(path, freestyleJobXml());
+            return this;
+        }
+
+        public Batch pipeline(String path, String script) {
+            items.put(path, pipelineXml(script));
+            return this;
+        }
+
+        public Batch item(String path, String configXml) {
+            items.put(path, configXml);
+            return this;
+        }
+
+        public Batch listView(String name, String... jobNames) {
+            views.put(name, listViewXml(name, jobNames));
+            return this;
+        }
+
+        public Batch user(String name, String password) {
+            users.put(name, password);
+            return this;
+        }
+
+        public void create() {
+            Map<Integer, List<String>> byDepth = new TreeMap<>();
+            for (String path : items.keySet()) {
+                byDepth.computeIfAbsent(path.split("/").length, k -> new ArrayList<>()).add(path);
+            }
+
+            List<CompletableFuture<String>> requests = new ArrayList<>();
+            users.forEach((name, password) -> requests.add(createUserAsync(name, password)));
+            for (List<String> level : byDepth.values()) {
+                List<CompletableFuture<String>> levelRequests = new ArrayList<>();
+                for (String path : level) {
+                    levelRequests.add(createItemAsync(path, items.get(path)));
+                }
+                levelRequests.forEach(JenkinsApi::join);
+            }
+            views.forEach((name, xml) -> requests.add(post("createView?name=" + encode(name), "application/xml", xml)));
+            requests.forEach(JenkinsApi::join);
+        }
+
+        /**
+         * Deletes what {@link #create()} made; deleting a folder deletes its content.
+         */
+        public void delete() {
+            List<CompletableFuture<String>> requests = new ArrayList<>();
+            views.keySet().forEach(name -> requests.add(post("view/" + encode(name) + "/doDelete", null, "")));
+            users.keySet().forEach(name -> requests.add(post("securityRealm/user/" + encode(name) + "/doDelete", null, "")));
+            items.keySet().stream()
+                    .filter(path -> items.keySet().stream().noneMatch(parent -> path.startsWith(parent + "/")))
+                    .forEach(path -> requests.add(post(itemUrl(path) + "doDelete", null, "")));
+            requests.forEach(JenkinsApi::join);
+        }
+    }
+
+    private CompletableFuture<String> createItemAsync(String path, String configXml) {
+        int slash = path.lastIndexOf('/');
+        String parent = slash < 0 ? "" : itemUrl(path.substring(0, slash));
+        return post(parent + "createItem?name=" + encode(path.substring(slash + 1)), "application/xml", configXml);
+    }
+
+    private CompletableFuture<String> createUserAsync(String name, String password) {
+        String form = Map.of("username", name, "password1", password, "password2", password,
+                        "fullname", name, "email", name + "@example.com").entrySet().stream()
+                .map(field -> encode(field.getKey()) + "=" + encode(field.getValue()))
+                .collect(Collectors.joining("&"));
+        return post("securityRealm/createAccountByAdmin", "application/x-www-form-urlencoded", form);
+    }
+
+    private CompletableFuture<String> post(String path, String contentType, String body) {
+        return request("POST", path, contentType, body);
+    }
+
+    private CompletableFuture<String> request(String method, String path, String contentType, String body) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", basic(user, token()))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        return client.sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 400) {
+                        String text = response.body();
+                        throw new IllegalStateException(String.format("Jenkins API %s %s: HTTP %d %s", method, path,
+                                response.statusCode(), text.substring(0, Math.min(text.length(), 300))));
+                    }
+                    return response.body();
+                });
+    }
+
+    /**
+     * API token of the admin, generated once with the password and a crumb.
+     */
+    private String token() {
+        if (token == null) {
+            synchronized (this) {
+                if (token == null) {
+                    token = generateToken();
+                }
+            }
+        }
+        return token;
+    }
+
+    private String generateToken() {
+        String password = ProjectUtils.getPassword();
+        Map<String, String> crumb = crumb(password);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url
+                        + "me/descriptorByName/jenkins.security.ApiTokenProperty/generateNewToken"))
+                .timeout(TIMEOUT)
+                .header("Authorization", basic(user, password))
+                .header(crumb.get("crumbRequestField"), crumb.get("crumb"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("newTokenName=" + encode("tests-" + System.currentTimeMillis())))
+                .build();
+        Map<String, Object> response = json.toType(send(request), Json.MAP_TYPE);
+        return (String) ((Map<?, ?>) response.get("data")).get("tokenValue");
+    }
+
+    /**
+     * The crumb is bound to the HTTP session, which the cookie manager of the client keeps.
+     */
+    private synchronized Map<String, String> crumb(String password) {
+        if (crumb == null) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url + "crumbIssuer/api/json"))
+                    .timeout(TIMEOUT)
+                    .header("Authorization", basic(user, password))
+                    .build();
+            Map<String, Object> response = json.toType(send(request), Json.MAP_TYPE);
+            crumb = Map.of("crumbRequestField", (String) response.get("crumbRequestField"),
+                    "crumb", (String) response.get("crumb"));
+        }
+        return crumb;
+    }
+
+    private String send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                throw new IllegalStateException(String.format("Jenkins API %s %s: HTTP %d",
+                        request.method(), request.uri(), response.statusCode()));
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Jenkins API " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    private static String itemUrl(String path) {
+        StringBuilder itemUrl = new StringBuilder();
+        for (String name : path.split("/")) {
+            itemUrl.append("job/").append(encode(name)).append('/');
+        }
+        return itemUrl.toString();
+    }
+
+    private static String basic(String user, String secret) {
+        return "Basic " + Base64.getEncoder().encodeToString((user + ":" + secret).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String escapeXml(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
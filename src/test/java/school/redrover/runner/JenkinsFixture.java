@@ -0,0 +1,443 @@
+package school.redrover.runner;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Restores the Jenkins home used by the tests from the {@code jenkins_backup0*} parts of the snapshot
+ * ({@code tar -cf jenkins_backup.tar ./jenkins_backup; split -b 90m -d jenkins_backup.tar jenkins_backup}), plain
+ * or gzipped, and brings it back to the snapshot state on the next run without extracting everything again.
+ * <p>
+ * The first run reads the parts once as one stream. Every file goes into a content-addressed store
+ * ({@code objects/ab/<sha-256>.gz} under {@code -Djenkins.fixture.cache}, {@code ~/.cache/redrover/jenkins-fixture}
+ * by default) and into the target tree. The tree gets a {@value #MANIFEST} with the hash, size and modification
+ * time of every path. On the next run with the same parts, the tar is not read at all: files whose size or
+ * modification time changed are copied back from the store, paths Jenkins added are deleted. When the parts
+ * change, only the files whose content changed are written. {@code -Djenkins.fixture.worldWritable=true} makes the
+ * written paths writable for the Jenkins container user instead of a {@code chmod -R 777} over the whole tree.
+ * <p>
+ * The target directory must be empty or made by this class: everything in it that is not in the snapshot is deleted.
+ * Run: {@code mvn test-compile exec:exec -Pjenkins-fixture}, or {@code JenkinsFixture <parts dir> <target dir>}.
+ */
+public final class JenkinsFixture {
+
+    static final String MANIFEST = ".fixture-manifest";
+
+    private static final String PARTS_PREFIX = "jenkins_backup0";
+    private static final int BUFFER = 1 << 20;
+
+    private final Path partsDir;
+    private final Path target;
+    private final Path objects;
+    private final boolean worldWritable;
+
+    private int written;
+    private int unchanged;
+    private int removed;
+
+    private static final class Record {
+        final char type;
+        final String hash;
+        final long size;
+        final long modifiedMillis;
+        final int mode;
+        final String link;
+
+        Record(char type, String hash, long size, long modifiedMillis, int mode, String link) {
+            this.type = type;
+            this.hash = hash;
+            this.size = size;
+            this.modifiedMillis = modifiedMillis;
+            this.mode = mode;
+            this.link = link;
+        }
+
+        String toLine(String path) {
+            return String.join("\t", path, String.valueOf(type), hash, String.valueOf(size),
+                    String.valueOf(modifiedMillis), Integer.toOctalString(mode), link);
+        }
+
+        static Record parse(String[] fields) {
+            return new Record(fields[1].charAt(0), fields[2], Long.parseLong(fields[3]), Long.parseLong(fields[4]),
+                    Integer.parseInt(fields[5], 8), fields.length > 6 ? fields[6] : "");
+        }
+    }
+
+    public JenkinsFixture(Path partsDir, Path target) {
+        this.partsDir = partsDir;
+        this.target = target.toAbsolutePath().normalize();
+        this.objects = Path.of(ProjectUtils.getProperty("jenkins.fixture.cache",
+                Path.of(System.getProperty("user.home"), ".cache", "redrover", "jenkins-fixture").toString()), "objects");
+        this.worldWritable = Boolean.parseBoolean(ProjectUtils.getProperty("jenkins.fixture.worldWritable", "false"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: JenkinsFixture <directory with jenkins_backup0* parts> <target directory>");
+            System.exit(2);
+        }
+        new JenkinsFixture(Path.of(args[0]), Path.of(args[1])).restore();
+    }
+
+    /**
+     * Makes the target tree equal to the snapshot.
+     */
+    public void restore() throws IOException {
+        long start = System.nanoTime();
+        List<Path> parts = findParts();
+        String partsHash = hashParts(parts);
+
+        Map<String, String> header = new HashMap<>();
+        Map<String, Record> previous = readManifest(header);
+        if (previous.isEmpty() && !isEmptyOrMissing(target)) {
+            throw new IOException(target + " has files but no " + MANIFEST + "; refusing to restore into a directory "
+                    + "this class did not create, it deletes what is not in the snapshot");
+        }
+        boolean incremental = partsHash.equals(header.get("parts")) && allObjectsCached(previous);
+
+        Map<String, Record> current = incremental ? restoreFromStore(previous) : restoreFromParts(parts, previous);
+        removeExtraPaths(current.keySet());
+        writeManifest(partsHash, current);
+
+        ProjectUtils.log(String.format("Jenkins home %s restored %s in %d ms: %d written, %d unchanged, %d removed",
+                target, incremental ? "from the object store" : "from " + parts.size() + " snapshot parts",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), written, unchanged, removed));
+    }
+
+    private List<Path> findParts() throws IOException {
+        try (Stream<Path> files = Files.list(partsDir)) {
+            List<Path> parts = files
+                    .filter(file -> file.getFileName().toString().startsWith(PARTS_PREFIX))
+                    .sorted()
+                    .toList();
+            if (parts.isEmpty()) {
+                throw new IOException("No " + PARTS_PREFIX + "* parts in " + partsDir.toAbsolutePath());
+            }
+            return parts;
+        }
+    }
+
+    private static String hashParts(List<Path> parts) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER];
+        for (Path part : parts) {
+            try (InputStream input = Files.newInputStream(part)) {
+                for (int read; (read = input.read(buffer)) > 0; ) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private Map<String, Record> restoreFromStore(Map<String, Record> manifest) throws IOException {
+        for (Map.Entry<String, Record> entry : manifest.entrySet()) {
+            Path path = resolve(entry.getKey());
+            Record record = entry.getValue();
+            if (record.type == 'd') {
+                createDirectory(path, record.mode);
+            } else if (record.type == 'l') {
+                if (!Files.isSymbolicLink(path) || !Files.readSymbolicLink(path).toString().equals(record.link)) {
+                    writeLink(path, record.link);
+                }
+            } else if (isUnchanged(path, record)) {
+                keep(path, record.mode);
+            } else {
+                materialize(path, record.hash, record.modifiedMillis, record.mode);
+            }
+        }
+        return manifest;
+    }
+
+    private Map<String, Record> restoreFromParts(List<Path> parts, Map<String, Record> previous) throws IOException {
+        Map<String, Record> current = new LinkedHashMap<>();
+        try (InputStream input = open(parts)) {
+            TarReader tar = new TarReader(input);
+            for (TarReader.Entry entry; (entry = tar.next()) != null; ) {
+                String name = entry.name.startsWith("./") ? entry.name.substring(2) : entry.name;
+                if (name.endsWith("/")) {
+                    name = name.substring(0, name.length() - 1);
+                }
+                if (name.isEmpty() || name.equals(".")) {
+                    continue;
+                }
+
+                Path path = resolve(name);
+                long modifiedMillis = TimeUnit.SECONDS.toMillis(entry.modifiedSeconds);
+                if (entry.isDirectory()) {
+                    createDirectory(path, entry.mode);
+                    current.put(name, new Record('d', "-", 0, modifiedMillis, entry.mode, ""));
+                } else if (entry.isSymbolicLink()) {
+                    writeLink(path, entry.linkName);
+                    current.put(name, new Record('l', "-", 0, modifiedMillis, entry.mode, entry.linkName));
+                } else if (entry.isFile()) {
+                    String hash = store(tar.content());
+                    Record before = previous.get(name);
+                    if (before != null && before.hash.equals(hash) && isUnchanged(path, before)) {
+                        keep(path, entry.mode);
+                        modifiedMillis = before.modifiedMillis;
+                    } else {
+                        materialize(path, hash, modifiedMillis, entry.mode);
+                    }
+                    current.put(name, new Record('f', hash, entry.size, modifiedMillis, entry.mode, ""));
+                } else {
+                    ProjectUtils.log("Skipping unsupported tar entry '" + entry.type + "' " + name);
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * All parts as one stream, each part opened only when the previous one is read to the end.
+     */
+    private static InputStream open(List<Path> parts) throws IOException {
+        Iterator<Path> iterator = parts.iterator();
+        InputStream joined = new BufferedInputStream(new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                if (!iterator.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return Files.newInputStream(iterator.next());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }), BUFFER);
+
+        joined.mark(2);
+        boolean gzip = joined.read() == 0x1f && joined.read() == 0x8b;
+        joined.reset();
+        return gzip ? new GZIPInputStream(joined, BUFFER) : joined;
+    }
+
+    /**
+     * Copies the content into the object store, returns its hash.
+     */
+    private String store(InputStream content) throws IOException {
+        Files.createDirectories(objects);
+        Path temp = Files.createTempFile(objects, "object", ".tmp");
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(content, digest);
+             OutputStream output = new GZIPOutputStream(Files.newOutputStream(temp), BUFFER) {
+                 {
+                     def.setLevel(Deflater.BEST_SPEED);
+                 }
+             }) {
+            input.transferTo(output);
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        Path object = objectPath(hash);
+        if (Files.exists(object)) {
+            Files.delete(temp);
+        } else {
+            Files.createDirectories(object.getParent());
+            Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        return hash;
+    }
+
+    private void materialize(Path path, String hash, long modifiedMillis, int mode) throws IOException {
+        Files.createDirectories(path.getParent());
+        if (Files.isSymbolicLink(path) || Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            deleteTree(path);
+        }
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(objectPath(hash)), BUFFER)) {
+            Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.setLastModifiedTime(path, FileTime.fromMillis(modifiedMillis));
+        setMode(path, mode);
+        written++;
+    }
+
+    private void createDirectory(Path path, int mode) throws IOException {
+        Files.createDirectories(path);
+        if (worldWritable) {
+            setMode(path, mode | 0777);
+        }
+    }
+
+    private void keep(Path path, int mode) throws IOException {
+        if (worldWritable) {
+            setMode(path, mode);
+        }
+        unchanged++;
+    }
+
+    private void writeLink(Path path, String link) throws IOException {
+        Files.createDirectories(path.getParent());
+        if (Files.exists(path, LinkOption.NOFOLLOW_LINKS)) {
+            deleteTree(path);
+        }
+        try {
+            Files.createSymbolicLink(path, Path.of(link));
+        } catch (FileAlreadyExistsException e) {
+            // created by an earlier entry of the same archive
+        }
+        written++;
+    }
+
+    private void setMode(Path path, int mode) throws IOException {
+        if (!Files.getFileStore(path).supportsFileAttributeView("posix")) {
+            return;
+        }
+        int effective = worldWritable ? mode | 0666 : mode;
+        Set<PosixFilePermission> permissions = EnumSet.noneOf(PosixFilePermission.class);
+        PosixFilePermission[] bits = PosixFilePermission.values();
+        for (int i = 0; i < bits.length; i++) {
+            if ((effective & (1 << (8 - i))) != 0) {
+                permissions.add(bits[i]);
+            }
+        }
+        Files.setPosixFilePermissions(path, permissions);
+    }
+
+    private static boolean isUnchanged(Path path, Record record) throws IOException {
+        return Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)
+                && Files.size(path) == record.size
+                && Files.getLastModifiedTime(path, LinkOption.NOFOLLOW_LINKS).toMillis() == record.modifiedMillis;
+    }
+
+    private boolean allObjectsCached(Map<String, Record> manifest) {
+        for (Record record : manifest.values()) {
+            if (record.type == 'f' && !Files.exists(objectPath(record.hash))) {
+                return false;
+            }
+        }
+        return !manifest.isEmpty();
+    }
+
+    private static boolean isEmptyOrMissing(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return true;
+        }
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.findAny().isEmpty();
+        }
+    }
+
+    private void removeExtraPaths(Set<String> keep) throws IOException {
+        if (!Files.isDirectory(target)) {
+            return;
+        }
+        List<Path> extra = new ArrayList<>();
+        collectExtra(target, keep, extra);
+        for (Path path : extra) {
+            deleteTree(path);
+            removed++;
+        }
+    }
+
+    private void collectExtra(Path dir, Set<String> keep, List<Path> extra) throws IOException {
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(dir)) {
+            for (Path child : children) {
+                String name = target.relativize(child).toString().replace('\\', '/');
+                if (dir.equals(target) && name.equals(MANIFEST)) {
+                    continue;
+                }
+                if (!keep.contains(name)) {
+                    extra.add(child);
+                } else if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                    collectExtra(child, keep, extra);
+                }
+            }
+        }
+    }
+
+    private static void deleteTree(Path path) throws IOException {
+        if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+            try (Stream<Path> tree = Files.walk(path)) {
+                for (Path child : tree.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(child);
+                }
+            }
+        } else {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private Map<String, Record> readManifest(Map<String, String> header) throws IOException {
+        Map<String, Record> manifest = new LinkedHashMap<>();
+        Path file = target.resolve(MANIFEST);
+        if (!Files.exists(file)) {
+            return manifest;
+        }
+        for (String line : Files.readAllLines(file)) {
+            String[] fields = line.split("\t", -1);
+            if (line.startsWith("#")) {
+                header.put(fields[0].substring(1), fields[1]);
+            } else if (fields.length >= 6) {
+                manifest.put(fields[0], Record.parse(fields));
+            }
+        }
+        return manifest;
+    }
+
+    private void writeManifest(String partsHash, Map<String, Record> records) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("#parts\t" + partsHash);
+        records.forEach((path, record) -> lines.add(record.toLine(path)));
+        Files.createDirectories(target);
+        Files.write(target.resolve(MANIFEST), lines);
+    }
+
+    private Path resolve(String name) throws IOException {
+        Path path = target.resolve(name).normalize();
+        if (!path.startsWith(target) || path.equals(target)) {
+            throw new IOException("Snapshot entry outside of the target directory: " + name);
+        }
+        return path;
+    }
+
+    private Path objectPath(String hash) {
+        return objects.resolve(hash.substring(0, 2)).resolve(hash + ".gz");
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package school.redrover.runner;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Own corner of the shared Jenkins for one test, so tests can run in parallel against one instance: jobs and views go
+ * into the test's own folder, users get the test's prefix, and only what the test made is deleted after it.
+ * <p>
+ * {@link #current()} creates the namespace on first use by the test method (or its {@code @BeforeMethod});
+ * {@link JenkinsNamespaceListener} deletes it when the test method ends. Names are
+ * {@code ns<run>-<n>-<test method>}: {@code <run>} is random per JVM, {@code <n>} counts within it, so workers
+ * and forks never pick the same name, and since Jenkins refuses to create an item that exists, two tests never end
+ * up sharing a folder. {@link JenkinsReset} is the serial counterpart: it clears everything outside the baseline,
+ * namespaces of other workers included.
+ */
+public final class JenkinsNamespace implements AutoCloseable {
+
+    private static final String RUN = Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36 * 36), 36);
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+    private static final ThreadLocal<JenkinsNamespace> CURRENT = new ThreadLocal<>();
+
+    private final JenkinsApi api = JenkinsApi.get();
+    private final String prefix;
+    private final List<String> users = new ArrayList<>();
+
+    private JenkinsNamespace(String testName) {
+        String slug = testName.replaceAll("[^A-Za-z0-9_.-]", "_");
+        this.prefix = "ns" + RUN + "-" + COUNTER.incrementAndGet() + "-" + slug.substring(0, Math.min(slug.length(), 40));
+        api.createItem(prefix, JenkinsApi.folderXml());
+    }
+
+    public static JenkinsNamespace current() {
+        JenkinsNamespace namespace = CURRENT.get();
+        if (namespace == null) {
+            ITestResult result = Reporter.getCurrentTestResult();
+            namespace = new JenkinsNamespace(result != null ? result.getMethod().getMethodName() : "test");
+            CURRENT.set(namespace);
+        }
+        return namespace;
+    }
+
+    /**
+     * Deletes the namespace of the current thread, if it has one.
+     */
+    static void closeCurrent() {
+        JenkinsNamespace namespace = CURRENT.get();
+        if (namespace != null) {
+            CURRENT.remove();
+            namespace.close();
+        }
+    }
+
+    /**
+     * The folder all jobs and views of this namespace live in.
+     */
+    public String getFolder() {
+        return prefix;
+    }
+
+    /**
+     * Full path of a job or view in the namespace folder: {@code <folder>/<name>}.
+     */
+    public String path(String name) {
+        return prefix + "/" + name;
+    }
+
+    /**
+     * Name of a user: {@code <folder>-<name>}.
+     */
+    public String name(String name) {
+        return prefix + "-" + name;
+    }
+
+    public String createFreestyleJob(String name) {
+        api.createItem(path(name), JenkinsApi.freestyleJobXml());
+        return path(name);
+    }
+
+    public String createPipeline(String name, String script) {
+        api.createItem(path(name), JenkinsApi.pipelineXml(script));
+        return path(name);
+    }
+
+    public String createFolder(String name) {
+        api.createItem(path(name), JenkinsApi.folderXml());
+        return path(name);
+    }
+
+    /**
+     * List view in the namespace folder; jobs are given by name or by {@link #path(String)}. Returns the path of the
+     * view, it goes away with the folder.
+     */
+    public String createListView(String name, String... jobNames) {
+        String[] names = new String[jobNames.length];
+        for (int i = 0; i < jobNames.length; i++) {
+            names[i] = jobNames[i].startsWith(prefix + "/") ? jobNames[i].substring(prefix.length() + 1) : jobNames[i];
+        }
+        api.createView(path(name), JenkinsApi.listViewXml(name, names));
+        return path(name);
+    }
+
+    /**
+     * Returns the user id, which is lower case, as Jenkins stores it.
+     */
+    public String createUser(String name, String password) {
+        String user = name(name).toLowerCase(Locale.ROOT);
+        api.createUser(user, password);
+        synchronized (users) {
+            users.add(user);
+        }
+        return user;
+    }
+
+    /**
+     * Deletes the users and the folder of this namespace, with the jobs and views in it; what fails to delete is
+     * logged, not thrown.
+     */
+    @Override
+    public void close() {
+        synchronized (users) {
+            users.forEach(user -> delete(() -> api.deleteUser(user), "user " + user));
+        }
+        delete(() -> api.deleteItem(prefix), "folder " + prefix);
+    }
+
+    private static void delete(Runnable delete, String what) {
+        try {
+            delete.run();
+        } catch (RuntimeException e) {
+            ProjectUtils.log("Cannot delete Jenkins " + what + ": " + e.getMessage());
+        }
+    }
+}
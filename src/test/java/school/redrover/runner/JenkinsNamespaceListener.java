@@ -0,0 +1,18 @@
+package school.redrover.runner;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Deletes the {@link JenkinsNamespace} a test method has used when it ends, before {@code @AfterMethod}.
+ */
+public class JenkinsNamespaceListener implements IInvokedMethodListener {
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            JenkinsNamespace.closeCurrent();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Waits at suite start until the Jenkins from {@code APP_OPTIONS} can take tests, in three steps:
+ * <ol>
+ *     <li>{@code /login} serves the login page;</li>
+ *     <li>{@code /api/json} answers the admin user;</li>
+ *     <li>Jenkins is fully up: the API no longer answers 503 and Jenkins is not quieting down.</li>
+ * </ol>
+ * Each step is polled with a short backoff, from 100 ms up to 2 s, so the tests start within a fraction of a second
+ * of Jenkins being ready. Meanwhile a first browser is started and quit in the background, which takes the
+ * driver lookup and cold start off the first test. The time each step took is logged and written to
+ * {@code target/jenkins/readiness.json}. Once Jenkins is up, its state is taken as the {@link JenkinsReset} baseline.
+ * <p>
+ * Runs when {@code APP_OPTIONS} is set or with {@code -Djenkins.wait=true}; gives up after
+ * {@code jenkins.waitSeconds} (150) and fails the suite. A reused fork starts a suite for every test class, so all
+ * of this happens once per JVM; later suites get the first result, a failure included.
+ */
+public class JenkinsReadinessListener implements ISuiteListener {
+
+    private static final long FIRST_DELAY_MILLIS = 100;
+    private static final long MAX_DELAY_MILLIS = 2000;
+
+    private static boolean done;
+    private static RuntimeException failure;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    @Override
+    public void onStart(ISuite suite) {
+        boolean enabled = Boolean.parseBoolean(ProjectUtils.getProperty("jenkins.wait",
+                String.valueOf(System.getenv("APP_OPTIONS") != null)));
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (JenkinsReadinessListener.class) {
+            if (!done) {
+                done = true;
+                try {
+                    waitForJenkins();
+                } catch (RuntimeException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private void waitForJenkins() {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(Long.parseLong(ProjectUtils.getProperty("jenkins.waitSeconds", "150")));
+        CompletableFuture<Long> warmUp = CompletableFuture.supplyAsync(JenkinsReadinessListener::warmUpBrowser);
+
+        String auth = "Basic " + Base64.getEncoder().encodeToString(
+                (ProjectUtils.getUserName() + ":" + ProjectUtils.getPassword()).getBytes(StandardCharsets.UTF_8));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("url", ProjectUtils.getUrl());
+        report.put("loginPageMs", waitFor("login page", "login", null, deadline, start,
+                response -> response.statusCode() == 200 && response.body().contains("<html")));
+        report.put("apiMs", waitFor("API", "api/json", auth, deadline, start,
+                response -> response.statusCode() == 200));
+        report.put("fullyUpMs", waitFor("fully up", "api/json?tree=quietingDown", auth, deadline, start,
+                response -> response.statusCode() == 200 && response.body().contains("\"quietingDown\":false")));
+        report.put("browserWarmUpMs", warmUp.join());
+
+        ProjectUtils.log("Jenkins is up: " + report);
+        try {
+            Files.writeString(ProjectUtils.getReportDir("jenkins").resolve("readiness.json"),
+                    new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write Jenkins readiness report: " + e.getMessage());
+        }
+
+        try {
+            JenkinsReset.baseline();
+        } catch (RuntimeException e) {
+            ProjectUtils.log("Cannot take the Jenkins baseline: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Polls {@code path} until {@code ready}; returns the milliseconds since {@code start}.
+     */
+    private long waitFor(String step, String path, String auth, long deadline, long start,
+                         Predicate<HttpResponse<String>> ready) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(ProjectUtils.getUrl() + path))
+                .timeout(Duration.ofSeconds(5));
+        if (auth != null) {
+            request.header("Authorization", auth);
+        }
+
+        String last = "no answer";
+        long delay = FIRST_DELAY_MILLIS;
+        while (System.nanoTime() < deadline) {
+            try {
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                if (ready.test(response)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                last = "HTTP " + response.statusCode();
+            } catch (IOException e) {
+                last = e.toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Jenkins", e);
+            }
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Jenkins", e);
+            }
+            delay = Math.min(MAX_DELAY_MILLIS, delay * 3 / 2);
+        }
+        throw new IllegalStateException(String.format("Jenkins at %s is not ready (%s): %s, last answer: %s",
+                ProjectUtils.getUrl(), step, path, last));
+    }
+
+    private static long warmUpBrowser() {
+        long start = System.nanoTime();
+        try {
+            WebDriver driver = DriverFactory.createDriver();
+            driver.quit();
+        } catch (RuntimeException e) {
+            ProjectUtils.log("Browser warm-up failed: " + e.getMessage());
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
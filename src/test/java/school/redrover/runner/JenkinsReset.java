@@ -0,0 +1,166 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Puts Jenkins back into its baseline state between tests without a restart: one script console call deletes every
+ * top-level job, view, node and user that is not in the baseline and lists what is left, which must match the
+ * baseline exactly.
+ * <p>
+ * The baseline is the manifest in {@code -Djenkins.baseline=<file>} ({@code {"job": [...], "view": [...], "node":
+ * [...], "user": [...]}}) or, without it, the state Jenkins has when it is first asked for, which
+ * {@link JenkinsReadinessListener} does at suite start. It is taken once per build: the first JVM writes it to
+ * {@code target/jenkins/baseline.json} ({@code -Djenkins.dir}) with the {@code test.run} id Maven passes to every
+ * fork, and the other forks of the same build read it from there instead of taking the state of a Jenkins that
+ * is already in use.
+ */
+public final class JenkinsReset {
+
+    private static final List<String> KINDS = List.of("job", "view", "node", "user");
+
+    private static final String LIST = String.join("\n",
+            "instance.items.each { println 'job\\t' + it.name }",
+            "instance.views.each { println 'view\\t' + it.viewName }",
+            "instance.nodes.each { println 'node\\t' + it.nodeName }",
+            "hudson.model.User.getAll().each { println 'user\\t' + it.id }");
+
+    private static Map<String, Set<String>> baseline;
+
+    private JenkinsReset() {
+    }
+
+    public static synchronized Map<String, Set<String>> baseline() {
+        if (baseline == null) {
+            String manifest = ProjectUtils.getProperty("jenkins.baseline", null);
+            baseline = manifest != null ? readManifest(Path.of(manifest)) : sharedBaseline();
+        }
+        return baseline;
+    }
+
+    private static Map<String, Set<String>> sharedBaseline() {
+        String run = System.getProperty("test.run", "");
+        Path dir = Path.of(System.getProperty("jenkins.dir", "target/jenkins"));
+        Path file = dir.resolve("baseline.json");
+        try {
+            Files.createDirectories(dir);
+            try (FileChannel channel = FileChannel.open(dir.resolve("baseline.lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                if (!run.isEmpty() && Files.exists(file)) {
+                    Map<String, Object> saved = readJson(file);
+                    if (run.equals(saved.get("run"))) {
+                        return toState(saved);
+                    }
+                }
+
+                Map<String, Set<String>> state = currentState();
+                Map<String, Object> saved = new TreeMap<>(state);
+                saved.put("run", run);
+                Files.writeString(file, new Json().toJson(saved), StandardCharsets.UTF_8);
+                return state;
+            }
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot share the Jenkins baseline in " + file + ": " + e.getMessage());
+            return currentState();
+        }
+    }
+
+    private static Map<String, Set<String>> currentState() {
+        return state(JenkinsApi.get().runScript("def instance = jenkins.model.Jenkins.get()\n" + LIST));
+    }
+
+    /**
+     * Deletes everything that is not in the baseline; fails if Jenkins does not match the baseline afterwards.
+     */
+    public static void reset() {
+        Map<String, Set<String>> expected = baseline();
+        String script = String.join("\n",
+                "def instance = jenkins.model.Jenkins.get()",
+                "def baseline = [" + KINDS.stream()
+                        .map(kind -> kind + ": " + groovySet(expected.get(kind)))
+                        .collect(Collectors.joining(", ")) + "]",
+                "instance.items.findAll { !baseline.job.contains(it.name) }.each { it.delete() }",
+                "instance.views.findAll { it != instance.primaryView && !baseline.view.contains(it.viewName) }"
+                        + ".each { instance.deleteView(it) }",
+                "instance.nodes.findAll { !baseline.node.contains(it.nodeName) }.each { instance.removeNode(it) }",
+                "hudson.model.User.getAll().findAll { !baseline.user.contains(it.id) }.each { it.delete() }",
+                LIST);
+
+        long start = System.nanoTime();
+        Map<String, Set<String>> actual = state(JenkinsApi.get().runScript(script));
+        if (!actual.equals(expected)) {
+            Map<String, String> difference = new LinkedHashMap<>();
+            for (String kind : KINDS) {
+                Set<String> missing = new TreeSet<>(expected.get(kind));
+                missing.removeAll(actual.get(kind));
+                Set<String> extra = new TreeSet<>(actual.get(kind));
+                extra.removeAll(expected.get(kind));
+                if (!missing.isEmpty() || !extra.isEmpty()) {
+                    difference.put(kind, "missing " + missing + ", left " + extra);
+                }
+            }
+            throw new IllegalStateException(String.format("Jenkins does not match the baseline after reset (%d ms): %s",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), difference));
+        }
+    }
+
+    private static Map<String, Set<String>> state(String output) {
+        Map<String, Set<String>> state = new TreeMap<>();
+        KINDS.forEach(kind -> state.put(kind, new TreeSet<>()));
+        for (String line : output.split("\n")) {
+            String[] kindName = line.split("\t", 2);
+            if (kindName.length == 2 && state.containsKey(kindName[0])) {
+                state.get(kindName[0]).add(kindName[1].strip());
+            }
+        }
+        return state;
+    }
+
+    private static Map<String, Set<String>> readManifest(Path file) {
+        try {
+            return toState(readJson(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read Jenkins baseline " + file, e);
+        }
+    }
+
+    private static Map<String, Object> readJson(Path file) throws IOException {
+        return new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+    }
+
+    private static Map<String, Set<String>> toState(Map<String, Object> manifest) {
+        Map<String, Set<String>> state = new TreeMap<>();
+        for (String kind : KINDS) {
+            Set<String> names = new TreeSet<>();
+            Object list = manifest.get(kind);
+            if (list instanceof List) {
+                ((List<?>) list).forEach(name -> names.add(String.valueOf(name)));
+            }
+            state.put(kind, names);
+        }
+        return state;
+    }
+
+    private static String groovySet(Set<String> names) {
+        return names.stream()
+                .map(name -> "'" + name.replace("\\", "\\\\").replace("'", "\\'") + "'")
+                .collect(Collectors.joining(", ", "[", "] as Set"));
+    }
+}
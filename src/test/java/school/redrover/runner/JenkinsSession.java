@@ -0,0 +1,140 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Logged-in Jenkins session shared by all browsers of this JVM: the admin from {@code APP_OPTIONS} logs in once over
+ * HTTP, and {@link #login(WebDriver)} puts the session ({@code JSESSIONID.*}) and {@code remember-me} cookies into
+ * a new browser before its first page, so a test opens Jenkins already logged in instead of going through the
+ * login form.
+ * <p>
+ * Before the cookies are handed out, {@code /whoAmI/api/json} confirms that Jenkins still knows the session, at most
+ * every {@code jenkins.session.checkSeconds} (30); a session Jenkins has dropped, e.g. after a test logged out,
+ * is replaced by a new login. {@link #invalidate()} forces that.
+ */
+public final class JenkinsSession {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final long CHECK_NANOS = TimeUnit.SECONDS.toNanos(
+            Long.parseLong(ProjectUtils.getProperty("jenkins.session.checkSeconds", "30")));
+
+    private static List<HttpCookie> cookies;
+    private static long checkedAt;
+
+    private JenkinsSession() {
+    }
+
+    /**
+     * Call on a new driver before its first {@code get}.
+     */
+    public static void login(WebDriver driver) {
+        List<HttpCookie> current = cookies();
+        if (driver instanceof HasCdp) {
+            for (HttpCookie cookie : current) {
+                ((HasCdp) driver).executeCdpCommand("Network.setCookie", Map.of(
+                        "name", cookie.getName(),
+                        "value", cookie.getValue(),
+                        "url", ProjectUtils.getUrl(),
+                        "path", "/",
+                        "httpOnly", true));
+            }
+        } else {
+            // WebDriver sets cookies only for the open page; robots.txt is the cheapest page Jenkins serves anonymously
+            driver.get(ProjectUtils.getUrl() + "robots.txt");
+            for (HttpCookie cookie : current) {
+                driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .path("/")
+                        .isHttpOnly(true)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Drops the cached session, the next {@link #login(WebDriver)} logs in again.
+     */
+    public static synchronized void invalidate() {
+        cookies = null;
+    }
+
+    private static synchronized List<HttpCookie> cookies() {
+        long now = System.nanoTime();
+        if (cookies != null && now - checkedAt > CHECK_NANOS) {
+            if (!isValid(cookies)) {
+                ProjectUtils.log("Jenkins session is no longer valid, logging in again");
+                cookies = null;
+            }
+            checkedAt = now;
+        }
+        if (cookies == null) {
+            cookies = logIn();
+            checkedAt = now;
+        }
+        return cookies;
+    }
+
+    private static List<HttpCookie> logIn() {
+        CookieManager cookieManager = new CookieManager();
+        HttpClient client = HttpClient.newBuilder()
+                .cookieHandler(cookieManager)
+                .connectTimeout(TIMEOUT)
+                .build();
+        String form = Map.of("j_username", ProjectUtils.getUserName(), "j_password", ProjectUtils.getPassword(),
+                        "remember_me", "on", "from", "/").entrySet().stream()
+                .map(field -> field.getKey() + "=" + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        HttpResponse<String> response = send(client, HttpRequest.newBuilder(
+                        URI.create(ProjectUtils.getUrl() + "j_spring_security_check"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+
+        String location = response.headers().firstValue("Location").orElse("");
+        List<HttpCookie> session = cookieManager.getCookieStore().getCookies().stream()
+                .filter(cookie -> cookie.getName().startsWith("JSESSIONID") || cookie.getName().equals("remember-me"))
+                .collect(Collectors.toList());
+        if (location.contains("loginError") || session.isEmpty() || !isValid(session)) {
+            throw new IllegalStateException(String.format("Cannot log in to %s as %s: HTTP %d %s",
+                    ProjectUtils.getUrl(), ProjectUtils.getUserName(), response.statusCode(), location));
+        }
+        return List.copyOf(session);
+    }
+
+    private static boolean isValid(List<HttpCookie> session) {
+        HttpResponse<String> response = send(HttpClient.newBuilder().connectTimeout(TIMEOUT).build(),
+                HttpRequest.newBuilder(URI.create(ProjectUtils.getUrl() + "whoAmI/api/json?tree=authenticated,name"))
+                        .header("Cookie", session.stream()
+                                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                                .collect(Collectors.joining("; "))));
+        return response.statusCode() == 200
+                && response.body().contains("\"authenticated\":true")
+                && response.body().contains("\"name\":\"" + ProjectUtils.getUserName() + "\"");
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest.Builder request) {
+        try {
+            return client.send(request.timeout(TIMEOUT).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Jenkins at " + ProjectUtils.getUrl() + " does not answer", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+}
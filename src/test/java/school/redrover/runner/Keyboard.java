@@ -0,0 +1,34 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Actions;
+
+/**
+ * Key presses sent to the page through WebDriver, not to the operating system: they reach the browser of the test
+ * in headless and grid runs too, and need no focused desktop window.
+ */
+public final class Keyboard {
+
+    private Keyboard() {
+    }
+
+    /**
+     * Presses the keys in order on the focused element of the page.
+     */
+    public static void press(WebDriver driver, CharSequence... keys) {
+        new Actions(driver).sendKeys(keys).perform();
+    }
+
+    /**
+     * Enter on the page, or on the open JavaScript dialog, which it accepts.
+     */
+    public static void pressEnter(WebDriver driver) {
+        try {
+            driver.switchTo().alert().accept();
+        } catch (NoAlertPresentException e) {
+            press(driver, Keys.ENTER);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Checks links over HTTP instead of clicking each one and going back.
+ * <p>
+ * One script call collects the {@code href} of every matching element, then all URLs are requested at once through
+ * a shared {@link HttpClient}, which keeps the connections open between runs: {@code HEAD} first, {@code GET} when
+ * the server does not support it. Links to the site of the current page carry the browser's cookies, so pages
+ * behind a login are checked as the logged-in user. Only links that do something in JavaScript
+ * ({@code javascript:}, {@code #}, {@code onclick}) are still clicked in the browser.
+ */
+public final class LinkChecker {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(16, runnable -> {
+        Thread thread = new Thread(runnable, "link-checker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .executor(EXECUTOR)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private static final String COLLECT_LINKS_SCRIPT =
+            "return Array.from(document.querySelectorAll(arguments[0])).map(function (a) {"
+                    + "  var href = a.getAttribute('href') || '';"
+                    + "  return {url: a.href || '', text: a.textContent.trim(),"
+                    + "    script: !href || href.charAt(0) === '#' || /^javascript:/i.test(href) || a.hasAttribute('onclick')};"
+                    + "});";
+
+    public static final class Link {
+        private final String url;
+        private final String text;
+        private final int status;
+        private final boolean checkedInBrowser;
+        private final String error;
+
+        private Link(String url, String text, int status, boolean checkedInBrowser, String error) {
+            this.url = url;
+            this.text = text;
+            this.status = status;
+            this.checkedInBrowser = checkedInBrowser;
+            this.error = error;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * HTTP status of the last response; 0 when the request failed or the link was clicked in the browser.
+         */
+        public int getStatus() {
+            return status;
+        }
+
+        public boolean isCheckedInBrowser() {
+            return checkedInBrowser;
+        }
+
+        public boolean isOk() {
+            return error == null && (checkedInBrowser || status >= 200 && status < 400);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' %s -> %s", text, url,
+                    error != null ? error : checkedInBrowser ? "clicked" : String.valueOf(status));
+        }
+    }
+
+    private LinkChecker() {
+    }
+
+    /**
+     * Checks every element matching {@code cssSelector} on the current page, in page order.
+     */
+    public static List<Link> check(WebDriver driver, String cssSelector) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> found = (List<Map<String, Object>>)
+                ((JavascriptExecutor) driver).executeScript(COLLECT_LINKS_SCRIPT, cssSelector);
+        String host = URI.create(driver.getCurrentUrl()).getHost();
+        String cookies = driver.manage().getCookies().stream()
+                .map(cookie -> cookie.getName() + "=" + cookie.getValue())
+                .collect(Collectors.joining("; "));
+
+        List<CompletableFuture<Link>> requests = new ArrayList<>();
+        for (Map<String, Object> link : found) {
+            String url = (String) link.get("url");
+            String text = (String) link.get("text");
+            requests.add(Boolean.TRUE.equals(link.get("script")) || !url.startsWith("http")
+                    ? CompletableFuture.completedFuture(null)
+                    : request(url, text, host != null && host.equals(URI.create(url).getHost()) ? cookies : ""));
+        }
+
+        List<Link> links = new ArrayList<>();
+        for (int i = 0; i < found.size(); i++) {
+            Link link = requests.get(i).join();
+            if (link == null) {
+                link = click(driver, cssSelector, i, (String) found.get(i).get("url"), (String) found.get(i).get("text"));
+            }
+            links.add(link);
+        }
+        return links;
+    }
+
+    private static CompletableFuture<Link> request(String url, String text, String cookies) {
+        return send(url, "HEAD", cookies)
+                .thenCompose(status -> status == 405 || status == 501 ? send(url, "GET", cookies)
+                        : CompletableFuture.completedFuture(status))
+                .thenApply(status -> new Link(url, text, status, false, null))
+                .exceptionally(e -> new Link(url, text, 0, false,
+                        (e.getCause() != null ? e.getCause() : e).toString()));
+    }
+
+    private static CompletableFuture<Integer> send(String url, String method, String cookies) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .method(method, HttpRequest.BodyPublishers.noBody());
+        if (!cookies.isEmpty()) {
+            request.header("Cookie", cookies);
+        }
+        return CLIENT.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(HttpResponse::statusCode);
+    }
+
+    private static Link click(WebDriver driver, String cssSelector, int index, String url, String text) {
+        String page = driver.getCurrentUrl();
+        try {
+            WebElement element = driver.findElements(By.cssSelector(cssSelector)).get(index);
+            element.click();
+            if (!page.equals(driver.getCurrentUrl())) {
+                driver.navigate().back();
+            }
+            return new Link(url, text, 0, true, null);
+        } catch (WebDriverException | IndexOutOfBoundsException e) {
+            return new Link(url, text, 0, true, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+}
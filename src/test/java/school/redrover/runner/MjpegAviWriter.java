@@ -0,0 +1,151 @@
+package school.redrover.runner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Writes screencast frames as a Motion JPEG AVI: the JPEGs go into the file as they are, nothing is re-encoded.
+ * Screencast frames come at irregular moments, so they are resampled to a constant frame rate,
+ * each output frame showing the latest screen at that moment.
+ */
+final class MjpegAviWriter {
+
+    private static final int FPS = 5;
+    private static final int AVIF_HASINDEX = 0x10;
+    private static final int AVIIF_KEYFRAME = 0x10;
+
+    private MjpegAviWriter() {
+    }
+
+    static long write(Path file, List<ScreencastRecorder.Frame> frames) throws IOException {
+        List<byte[]> jpegs = resample(frames);
+        int[] size = jpegSize(jpegs.get(0));
+        int width = size[0];
+        int height = size[1];
+
+        int maxFrame = 0;
+        int moviSize = 4;
+        for (byte[] jpeg : jpegs) {
+            maxFrame = Math.max(maxFrame, jpeg.length);
+            moviSize += 8 + padded(jpeg.length);
+        }
+        int strlSize = 4 + (8 + 56) + (8 + 40);
+        int hdrlSize = 4 + (8 + 56) + (8 + strlSize);
+        int idxSize = 16 * jpegs.size();
+        int riffSize = 4 + (8 + hdrlSize) + (8 + moviSize) + (8 + idxSize);
+
+        ByteBuffer header = ByteBuffer.allocate(12 + 8 + hdrlSize + 12).order(ByteOrder.LITTLE_ENDIAN);
+        fourcc(header, "RIFF").putInt(riffSize);
+        fourcc(header, "AVI ");
+
+        fourcc(header, "LIST").putInt(hdrlSize);
+        fourcc(header, "hdrl");
+        fourcc(header, "avih").putInt(56)
+                .putInt(1_000_000 / FPS).putInt(maxFrame * FPS).putInt(0).putInt(AVIF_HASINDEX)
+                .putInt(jpegs.size()).putInt(0).putInt(1).putInt(maxFrame)
+                .putInt(width).putInt(height).putInt(0).putInt(0).putInt(0).putInt(0);
+
+        fourcc(header, "LIST").putInt(strlSize);
+        fourcc(header, "strl");
+        fourcc(fourcc(header, "strh").putInt(56), "vids");
+        fourcc(header, "MJPG").putInt(0).putShort((short) 0).putShort((short) 0).putInt(0)
+                .putInt(1).putInt(FPS).putInt(0).putInt(jpegs.size()).putInt(maxFrame).putInt(-1).putInt(0)
+                .putShort((short) 0).putShort((short) 0).putShort((short) width).putShort((short) height);
+        fourcc(header, "strf").putInt(40)
+                .putInt(40).putInt(width).putInt(height).putShort((short) 1).putShort((short) 24);
+        fourcc(header, "MJPG").putInt(width * height * 3).putInt(0).putInt(0).putInt(0).putInt(0);
+
+        fourcc(header, "LIST").putInt(moviSize);
+        fourcc(header, "movi");
+
+        ByteBuffer index = ByteBuffer.allocate(8 + idxSize).order(ByteOrder.LITTLE_ENDIAN);
+        fourcc(index, "idx1").putInt(idxSize);
+
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header.flip());
+
+            int offset = 4;
+            ByteBuffer chunkHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            for (byte[] jpeg : jpegs) {
+                fourcc(chunkHeader.clear(), "00dc").putInt(jpeg.length);
+                writeFully(channel, chunkHeader.flip());
+                writeFully(channel, ByteBuffer.wrap(jpeg));
+                if (jpeg.length % 2 != 0) {
+                    writeFully(channel, ByteBuffer.wrap(new byte[1]));
+                }
+
+                fourcc(index, "00dc").putInt(AVIIF_KEYFRAME).putInt(offset).putInt(jpeg.length);
+                offset += 8 + padded(jpeg.length);
+            }
+
+            writeFully(channel, index.flip());
+            return channel.size();
+        }
+    }
+
+    private static List<byte[]> resample(List<ScreencastRecorder.Frame> frames) {
+        Base64.Decoder decoder = Base64.getDecoder();
+        List<byte[]> decoded = new ArrayList<>(frames.size());
+        for (ScreencastRecorder.Frame frame : frames) {
+            decoded.add(decoder.decode(frame.base64Jpeg));
+        }
+
+        List<byte[]> result = new ArrayList<>();
+        long step = 1000 / FPS;
+        long start = frames.get(0).timestampMillis;
+        long end = frames.get(frames.size() - 1).timestampMillis;
+        int current = 0;
+        for (long time = start; time <= end + step - 1; time += step) {
+            while (current + 1 < frames.size() && frames.get(current + 1).timestampMillis <= time) {
+                current++;
+            }
+            result.add(decoded.get(current));
+        }
+        return result;
+    }
+
+    /**
+     * Width and height from the first SOFn marker of a JPEG.
+     */
+    private static int[] jpegSize(byte[] jpeg) {
+        int i = 2;
+        while (i + 9 < jpeg.length) {
+            if ((jpeg[i] & 0xFF) != 0xFF) {
+                i++;
+                continue;
+            }
+            int marker = jpeg[i + 1] & 0xFF;
+            int length = ((jpeg[i + 2] & 0xFF) << 8) | (jpeg[i + 3] & 0xFF);
+            if (marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+                int height = ((jpeg[i + 5] & 0xFF) << 8) | (jpeg[i + 6] & 0xFF);
+                int width = ((jpeg[i + 7] & 0xFF) << 8) | (jpeg[i + 8] & 0xFF);
+                return new int[]{width, height};
+            }
+            i += 2 + length;
+        }
+        return new int[]{1280, 720};
+    }
+
+    private static int padded(int length) {
+        return length + (length % 2);
+    }
+
+    private static ByteBuffer fourcc(ByteBuffer buffer, String code) {
+        return buffer.put(code.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
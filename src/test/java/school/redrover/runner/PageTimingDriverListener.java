@@ -0,0 +1,201 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * Collects Navigation Timing, a Resource Timing summary and LCP/CLS after every page load of one driver.
+ * <p>
+ * A {@code get}, {@code navigate()} or {@code click()} only marks the page as pending; the script runs before the
+ * next command that reads the page, navigates away or quits, so a click that opens an alert or starts a navigation
+ * is not measured half way and the result is keyed by the URL the page ended up at. The script marks the document
+ * it has measured, so a click that did not load a new page returns nothing and costs one or two round trips.
+ */
+public class PageTimingDriverListener implements WebDriverListener {
+
+    private static final String LOADING = "loading";
+
+    private static final String SCRIPT = "if (!window.performance || window.__pageTimingCaptured) { return null; }"
+            + "if (document.readyState !== 'complete') { return '" + LOADING + "'; }"
+            + "window.__pageTimingCaptured = true;"
+            + "var round = function (v) { return Math.round(v || 0); };"
+            + "var result = { url: location.href };"
+            + "var nav = performance.getEntriesByType('navigation')[0];"
+            + "if (nav) {"
+            + "  result.type = nav.type;"
+            + "  result.dns = round(nav.domainLookupEnd - nav.domainLookupStart);"
+            + "  result.connect = round(nav.connectEnd - nav.connectStart);"
+            + "  result.ttfb = round(nav.responseStart);"
+            + "  result.download = round(nav.responseEnd - nav.responseStart);"
+            + "  result.domInteractive = round(nav.domInteractive);"
+            + "  result.domContentLoaded = round(nav.domContentLoadedEventEnd);"
+            + "  result.load = round(nav.loadEventEnd);"
+            + "  result.transferSize = round(nav.transferSize);"
+            + "}"
+            + "var resources = performance.getEntriesByType('resource');"
+            + "var bytes = 0;"
+            + "resources.forEach(function (r) { bytes += r.transferSize || 0; });"
+            + "result.resourceCount = resources.length;"
+            + "result.resourceTransferSize = round(bytes);"
+            + "result.slowestResources = resources.slice().sort(function (a, b) { return b.duration - a.duration; })"
+            + "  .slice(0, 5).map(function (r) { return { name: r.name, duration: round(r.duration) }; });"
+            + "var take = function (type) {"
+            + "  try {"
+            + "    var observer = new PerformanceObserver(function () {});"
+            + "    observer.observe({ type: type, buffered: true });"
+            + "    var records = observer.takeRecords();"
+            + "    observer.disconnect();"
+            + "    return records;"
+            + "  } catch (e) { return null; }"
+            + "};"
+            + "var lcp = take('largest-contentful-paint');"
+            + "if (lcp && lcp.length) { result.lcp = round(lcp[lcp.length - 1].startTime); }"
+            + "var shifts = take('layout-shift');"
+            + "if (shifts) {"
+            + "  result.cls = shifts.reduce(function (sum, s) { return s.hadRecentInput ? sum : sum + s.value; }, 0);"
+            + "}"
+            + "return result;";
+
+    private final WebDriver driver;
+    private volatile String pendingTest;
+
+    PageTimingDriverListener(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        markPending();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        markPending();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        markPending();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        markPending();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        markPending();
+    }
+
+    @Override
+    public void afterClick(WebElement element) {
+        markPending();
+    }
+
+    @Override
+    public void beforeGet(WebDriver driver, String url) {
+        capture();
+    }
+
+    @Override
+    public void beforeAnyNavigationCall(WebDriver.Navigation navigation, Method method, Object[] args) {
+        capture();
+    }
+
+    @Override
+    public void beforeFindElement(WebDriver driver, By locator) {
+        capture();
+    }
+
+    @Override
+    public void beforeFindElements(WebDriver driver, By locator) {
+        capture();
+    }
+
+    @Override
+    public void beforeGetCurrentUrl(WebDriver driver) {
+        capture();
+    }
+
+    @Override
+    public void beforeGetTitle(WebDriver driver) {
+        capture();
+    }
+
+    @Override
+    public void beforeGetPageSource(WebDriver driver) {
+        capture();
+    }
+
+    @Override
+    public void beforeExecuteScript(WebDriver driver, String script, Object[] args) {
+        capture();
+    }
+
+    @Override
+    public void beforeExecuteAsyncScript(WebDriver driver, String script, Object[] args) {
+        capture();
+    }
+
+    @Override
+    public void beforeAnyWebElementCall(WebElement element, Method method, Object[] args) {
+        capture();
+    }
+
+    @Override
+    public void beforeClose(WebDriver driver) {
+        capture();
+    }
+
+    @Override
+    public void beforeQuit(WebDriver driver) {
+        capture();
+    }
+
+    private void markPending() {
+        pendingTest = PageTimings.currentTestName();
+    }
+
+    /**
+     * Measures the page once something reads it after a load or a click. An open alert is left alone: any script
+     * would make the browser dismiss it before the test gets to it. The page stays pending until it is loaded.
+     */
+    @SuppressWarnings("unchecked")
+    private void capture() {
+        String test = pendingTest;
+        if (test == null) {
+            return;
+        }
+        try {
+            driver.switchTo().alert();
+            return;
+        } catch (NoAlertPresentException expected) {
+            // nothing in the way of the script
+        } catch (WebDriverException e) {
+            pendingTest = null;
+            return;
+        }
+        try {
+            Object timing = ((JavascriptExecutor) driver).executeScript(SCRIPT);
+            if (LOADING.equals(timing)) {
+                return;
+            }
+            pendingTest = null;
+            if (timing instanceof Map) {
+                PageTimings.add(test, (Map<String, Object>) timing);
+            }
+        } catch (WebDriverException ignored) {
+            // the window is gone, nothing to measure
+            pendingTest = null;
+        }
+    }
+}
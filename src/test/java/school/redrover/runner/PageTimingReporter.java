@@ -0,0 +1,89 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.json.Json;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes the collected {@link PageTimings} to {@code target/page-timings}:
+ * {@code page-timings.json} grouped by test and {@code page-timings-by-url.json} aggregated by URL.
+ */
+public class PageTimingReporter implements IReporter {
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        List<Map<String, Object>> timings = PageTimings.getAll();
+        if (timings.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<Map<String, Object>>> byTest = new TreeMap<>();
+        Map<String, List<Map<String, Object>>> byUrl = new TreeMap<>();
+        for (Map<String, Object> timing : timings) {
+            byTest.computeIfAbsent((String) timing.get("test"), k -> new ArrayList<>()).add(timing);
+            byUrl.computeIfAbsent(stripFragment((String) timing.get("url")), k -> new ArrayList<>()).add(timing);
+        }
+
+        Map<String, Object> urlSummary = new LinkedHashMap<>();
+        byUrl.forEach((url, samples) -> urlSummary.put(url, summarize(samples)));
+
+        Path dir = ProjectUtils.getReportDir("page-timings");
+        Json json = new Json();
+        try {
+            Files.writeString(dir.resolve("page-timings.json"), json.toJson(byTest), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("page-timings-by-url.json"), json.toJson(urlSummary), StandardCharsets.UTF_8);
+            ProjectUtils.log("Page timing report: " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write page timing report: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> summarize(List<Map<String, Object>> samples) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("samples", samples.size());
+        for (String metric : List.of("ttfb", "domContentLoaded", "load", "lcp")) {
+            List<Long> values = values(samples, metric);
+            if (!values.isEmpty()) {
+                summary.put(metric + "P50", Stats.percentile(values, 0.5));
+                summary.put(metric + "P95", Stats.percentile(values, 0.95));
+            }
+        }
+        samples.stream()
+                .map(sample -> sample.get("cls"))
+                .filter(Number.class::isInstance)
+                .mapToDouble(value -> ((Number) value).doubleValue())
+                .max()
+                .ifPresent(cls -> summary.put("clsMax", cls));
+        return summary;
+    }
+
+    private static List<Long> values(List<Map<String, Object>> samples, String metric) {
+        List<Long> values = new ArrayList<>();
+        for (Map<String, Object> sample : samples) {
+            Object value = sample.get(metric);
+            if (value instanceof Number) {
+                values.add(((Number) value).longValue());
+            }
+        }
+        return values;
+    }
+
+    private static String stripFragment(String url) {
+        if (url == null) {
+            return "unknown";
+        }
+        int hash = url.indexOf('#');
+        return hash < 0 ? url : url.substring(0, hash);
+    }
+}
@@ -0,0 +1,47 @@
+package school.redrover.runner;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Page load measurements of the current run, tagged with the test that triggered them.
+ */
+public final class PageTimings {
+
+    private static final String ENABLED_PROPERTY = "page.timing";
+
+    private static final Queue<Map<String, Object>> TIMINGS = new ConcurrentLinkedQueue<>();
+
+    private PageTimings() {
+    }
+
+    static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+    }
+
+    static void add(String test, Map<String, Object> timing) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("test", test);
+        entry.putAll(timing);
+        TIMINGS.add(entry);
+    }
+
+    static List<Map<String, Object>> getAll() {
+        return new ArrayList<>(TIMINGS);
+    }
+
+    static String currentTestName() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        if (result == null) {
+            return "unknown";
+        }
+        return result.getMethod().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+}
@@ -0,0 +1,105 @@
+package school.redrover.runner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+public final class ProjectUtils {
+
+    private static final String REPORTS_DIR_PROPERTY = "reports.dir";
+
+    private static final String CHROME_OPTIONS = "CHROME_OPTIONS";
+    private static final String APP_OPTIONS = "APP_OPTIONS";
+
+    private static Properties properties;
+
+    private ProjectUtils() {
+    }
+
+    /**
+     * CI passes its settings in two environment variables, {@code key=value} pairs separated by {@code ;}:
+     * <pre>
+     * CHROME_OPTIONS=--headless=new;--window-size=1920,1080
+     * APP_OPTIONS=host=localhost;port=8080;admin.username=admin;admin.password=admin
+     * </pre>
+     * Locally the same values can be put into {@code src/test/resources/local.properties}
+     * ({@code chrome.options=...}, {@code host=...}, ...), which is not committed.
+     */
+    private static synchronized Properties getProperties() {
+        if (properties == null) {
+            properties = new Properties();
+
+            try (InputStream input = ProjectUtils.class.getClassLoader().getResourceAsStream("local.properties")) {
+                if (input != null) {
+                    properties.load(input);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read local.properties", e);
+            }
+
+            if (System.getenv(CHROME_OPTIONS) != null) {
+                properties.setProperty("chrome.options", System.getenv(CHROME_OPTIONS));
+            }
+            if (System.getenv(APP_OPTIONS) != null) {
+                for (String option : System.getenv(APP_OPTIONS).split(";")) {
+                    String[] keyValue = option.split("=", 2);
+                    if (keyValue.length == 2) {
+                        properties.setProperty(keyValue[0].trim(), keyValue[1].trim());
+                    }
+                }
+            }
+        }
+        return properties;
+    }
+
+    static String getProperty(String key, String defaultValue) {
+        return System.getProperty(key, getProperties().getProperty(key, defaultValue));
+    }
+
+    /**
+     * Extra Chrome arguments from {@code CHROME_OPTIONS}, applied on top of the browser profile.
+     */
+    static List<String> getChromeArguments() {
+        List<String> arguments = new ArrayList<>();
+        for (String argument : getProperty("chrome.options", "").split(";")) {
+            if (!argument.isBlank()) {
+                arguments.add(argument.trim());
+            }
+        }
+        return arguments;
+    }
+
+    public static String getUrl() {
+        return String.format("http://%s:%s/", getProperty("host", "localhost"), getProperty("port", "8080"));
+    }
+
+    public static String getUserName() {
+        return getProperty("admin.username", "admin");
+    }
+
+    public static String getPassword() {
+        return getProperty("admin.password", "admin");
+    }
+
+    /**
+     * Directory for generated reports, {@code target/<name>} by default.
+     * The root can be moved with {@code -Dreports.dir=...}; reports are never written into the source tree.
+     */
+    public static Path getReportDir(String name) {
+        Path dir = Path.of(System.getProperty(REPORTS_DIR_PROPERTY, "target"), name);
+        try {
+            return Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create report directory " + dir, e);
+        }
+    }
+
+    public static void log(String message) {
+        System.out.println(message);
+    }
+}
@@ -0,0 +1,200 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Long-lived driver whose browser session can be replaced between tests without the test class noticing:
+ * the test keeps one {@link WebDriver} reference, every call goes to the current session.
+ * <p>
+ * After each test method that used it, {@link DriverHealthListener} calls {@link #checkHealth}: the JS heap and
+ * DOM node count of the page ({@link SessionMemory}) and the average latency of the driver commands of the test
+ * are compared with the limits below. When one is crossed, or the session has served {@code health.maxUses}
+ * tests, it is quit and the next call starts a fresh session from {@link DriverFactory}.
+ * <ul>
+ *     <li>{@code health.maxUses}, 25 tests</li>
+ *     <li>{@code health.maxHeapMb}, 200 MB of used JS heap</li>
+ *     <li>{@code health.maxDomNodes}, 50000 nodes</li>
+ *     <li>{@code health.latencyFactor}, 3 times the latency of the first test of the session</li>
+ * </ul>
+ * Page loads ({@code get}) are left out of the latency, they depend on the site rather than on the session.
+ * Setup done on the old session (window size, cookies) is not replayed.
+ */
+final class RecyclableDriver implements InvocationHandler {
+
+    private static final List<RecyclableDriver> OPEN = new CopyOnWriteArrayList<>();
+
+    private static final int MAX_USES = Integer.getInteger("health.maxUses", 25);
+    private static final long MAX_HEAP_KB = Long.getLong("health.maxHeapMb", 200) * 1024;
+    private static final long MAX_DOM_NODES = Long.getLong("health.maxDomNodes", 50_000);
+    private static final double LATENCY_FACTOR = Double.parseDouble(System.getProperty("health.latencyFactor", "3"));
+
+    private static final int MIN_COMMANDS = 5;
+
+    private final Supplier<WebDriver> rawFactory;
+
+    private WebDriver raw;
+    private WebDriver decorated;
+    private int uses;
+    private long baselineLatencyNanos;
+
+    private volatile Thread lastUser;
+    private long commandNanos;
+    private int commands;
+
+    private RecyclableDriver(Supplier<WebDriver> rawFactory) {
+        this.rawFactory = rawFactory;
+    }
+
+    static WebDriver create(Supplier<WebDriver> rawFactory) {
+        RecyclableDriver handler = new RecyclableDriver(rawFactory);
+        handler.open();
+
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = handler.decorated.getClass(); type != null; type = type.getSuperclass()) {
+            collectInterfaces(type, interfaces);
+        }
+        return (WebDriver) Proxy.newProxyInstance(RecyclableDriver.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), handler);
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> face : type.getInterfaces()) {
+            if (Modifier.isPublic(face.getModifiers())) {
+                interfaces.add(face);
+            }
+            collectInterfaces(face, interfaces);
+        }
+    }
+
+    /**
+     * Checks the sessions the current thread used since the last check.
+     */
+    static void checkUsedByCurrentThread() {
+        for (RecyclableDriver driver : OPEN) {
+            if (driver.lastUser == Thread.currentThread()) {
+                driver.lastUser = null;
+                driver.checkHealth();
+            }
+        }
+    }
+
+    private void open() {
+        raw = rawFactory.get();
+        decorated = DriverFactory.decorate(raw);
+        uses = 0;
+        baselineLatencyNanos = 0;
+        OPEN.add(this);
+    }
+
+    private void close() {
+        OPEN.remove(this);
+        try {
+            decorated.quit();
+        } finally {
+            raw = null;
+            decorated = null;
+        }
+    }
+
+    /**
+     * The session to send the next call to; a new one when the last was recycled or quit from outside,
+     * e.g. by {@link FlakyRetryAnalyzer} cleaning up before a retry.
+     */
+    private synchronized WebDriver current() {
+        if (decorated == null || raw instanceof RemoteWebDriver && ((RemoteWebDriver) raw).getSessionId() == null) {
+            OPEN.remove(this);
+            open();
+        }
+        return decorated;
+    }
+
+    private synchronized void checkHealth() {
+        if (decorated == null) {
+            return;
+        }
+        uses++;
+        long latencyNanos = commands >= MIN_COMMANDS ? commandNanos / commands : 0;
+        commandNanos = 0;
+        commands = 0;
+        if (baselineLatencyNanos == 0) {
+            baselineLatencyNanos = latencyNanos;
+        }
+
+        Map<String, Object> sample = SessionMemory.sample(raw);
+        StepTimings.resetIdleClock();
+
+        List<String> reasons = new ArrayList<>();
+        if (uses >= MAX_USES) {
+            reasons.add(uses + " tests");
+        }
+        if (sample.get("jsHeapUsedKb") instanceof Long && (Long) sample.get("jsHeapUsedKb") > MAX_HEAP_KB) {
+            reasons.add("JS heap " + (Long) sample.get("jsHeapUsedKb") / 1024 + " MB");
+        }
+        if (sample.get("domNodes") instanceof Long && (Long) sample.get("domNodes") > MAX_DOM_NODES) {
+            reasons.add(sample.get("domNodes") + " DOM nodes");
+        }
+        if (baselineLatencyNanos > 0 && latencyNanos > baselineLatencyNanos * LATENCY_FACTOR) {
+            reasons.add(String.format("command latency %.1f ms, was %.1f ms",
+                    latencyNanos / 1e6, baselineLatencyNanos / 1e6));
+        }
+        if (reasons.isEmpty()) {
+            return;
+        }
+
+        ProjectUtils.log("Recycling browser session after " + uses + " tests: " + String.join(", ", reasons));
+        try {
+            close();
+        } catch (WebDriverException e) {
+            ProjectUtils.log("Cannot quit degraded session: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "quit":
+                synchronized (this) {
+                    if (decorated != null) {
+                        close();
+                    }
+                }
+                return null;
+            default:
+                lastUser = Thread.currentThread();
+        }
+
+        WebDriver target = current();
+        long start = System.nanoTime();
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        } finally {
+            if (!method.getName().equals("get")) {
+                synchronized (this) {
+                    commandNanos += System.nanoTime() - start;
+                    commands++;
+                }
+            }
+        }
+    }
+}
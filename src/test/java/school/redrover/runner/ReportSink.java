@@ -0,0 +1,156 @@
+package school.redrover.runner;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Shared writer for the text reports that tests produce, e.g. {@code target/reports/SunFlowerTest/report.csv}.
+ * <p>
+ * Tests only put chunks into a bounded queue ({@code -Dreport.queueCapacity}, 1024 by default); a single background
+ * thread owns the files and does all the I/O. When the queue is full the test thread waits, so a fast producer
+ * cannot eat the heap. Any number of parallel workers can write, each chunk lands in its file in the order
+ * it was written by its thread. Pending chunks are flushed when the JVM exits.
+ */
+public final class ReportSink {
+
+    private static final BlockingQueue<Chunk> QUEUE =
+            new ArrayBlockingQueue<>(Integer.getInteger("report.queueCapacity", 1024));
+
+    static {
+        Thread writer = new Thread(ReportSink::writeLoop, "report-sink");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ReportSink::flush, "report-sink-flush"));
+    }
+
+    private ReportSink() {
+    }
+
+    /**
+     * Opens {@code target/reports/<owner>/<fileName>} for writing, replacing the previous content.
+     */
+    public static ReportFile open(String owner, String fileName) {
+        return new ReportFile(ProjectUtils.getReportDir("reports").resolve(owner).resolve(fileName));
+    }
+
+    /**
+     * Blocks until everything queued so far is on disk.
+     */
+    public static void flush() {
+        CountDownLatch latch = new CountDownLatch(1);
+        put(new Chunk(null, null, latch));
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void put(Chunk chunk) {
+        try {
+            QUEUE.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing " + chunk.path, e);
+        }
+    }
+
+    private static void writeLoop() {
+        Map<Path, Writer> writers = new HashMap<>();
+        while (true) {
+            Chunk chunk;
+            try {
+                chunk = QUEUE.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (chunk.flushed != null) {
+                for (Writer writer : writers.values()) {
+                    try {
+                        writer.flush();
+                    } catch (IOException | RuntimeException e) {
+                        ProjectUtils.log("Cannot flush report: " + e);
+                    }
+                }
+                chunk.flushed.countDown();
+                continue;
+            }
+
+            try {
+                if (chunk.text == null) {
+                    Writer writer = writers.remove(chunk.path);
+                    if (writer != null) {
+                        writer.close();
+                    }
+                } else {
+                    writers.computeIfAbsent(chunk.path, ReportSink::newWriter).write(chunk.text);
+                }
+            } catch (IOException | RuntimeException e) {
+                // the writer thread must survive any chunk, or put() and flush() would wait for it forever
+                ProjectUtils.log("Cannot write report " + chunk.path + ": " + e);
+            }
+        }
+    }
+
+    private static Writer newWriter(Path path) {
+        try {
+            Files.createDirectories(path.getParent());
+            return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 64 * 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Chunk {
+        final Path path;
+        final String text;
+        final CountDownLatch flushed;
+
+        Chunk(Path path, String text, CountDownLatch flushed) {
+            this.path = path;
+            this.text = text;
+            this.flushed = flushed;
+        }
+    }
+
+    /**
+     * One report file. {@link #close()} only queues the close and returns immediately.
+     */
+    public static final class ReportFile implements AutoCloseable {
+
+        private final Path path;
+
+        private ReportFile(Path path) {
+            this.path = path;
+        }
+
+        public ReportFile write(String text) {
+            put(new Chunk(path, text, null));
+            return this;
+        }
+
+        public ReportFile writeLine(String line) {
+            return write(line + System.lineSeparator());
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        @Override
+        public void close() {
+            put(new Chunk(path, null, null));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package school.redrover.runner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only history of test runs, one tab separated line per test:
+ * <pre>runId  test  status  durationMs  commands  waitMs  sleepMs</pre>
+ * The file lives in {@code target/run-history} unless {@code -Dhistory.dir=...} points somewhere that survives
+ * {@code mvn clean}. Appends take a file lock, so parallel forks can share one file.
+ */
+public final class RunHistory {
+
+    private static final String DIR_PROPERTY = "history.dir";
+    private static final String FILE_NAME = "run-history.tsv";
+    private static final String HEADER = "# runId\ttest\tstatus\tdurationMs\tcommands\twaitMs\tsleepMs\n";
+
+    private RunHistory() {
+    }
+
+    static Path getDir() {
+        String dir = System.getProperty(DIR_PROPERTY);
+        if (dir == null) {
+            return ProjectUtils.getReportDir("run-history");
+        }
+        try {
+            return Files.createDirectories(Path.of(dir));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create history directory " + dir, e);
+        }
+    }
+
+    static List<Entry> load() {
+        Path file = getDir().resolve(FILE_NAME);
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return entries;
+        }
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    Entry entry = Entry.parse(line);
+                    if (entry != null) {
+                        entries.add(entry);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot read run history: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    static void append(List<Entry> entries) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(entry.toLine()).append('\n');
+        }
+
+        Path file = getDir().resolve(FILE_NAME);
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+             FileLock ignored = channel.lock()) {
+            if (channel.size() == 0) {
+                lines.insert(0, HEADER);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    static final class Entry {
+
+        final long runId;
+        final String test;
+        final String status;
+        final long durationMs;
+        final int commands;
+        final long waitMs;
+        final long sleepMs;
+
+        Entry(long runId, String test, String status, long durationMs, int commands, long waitMs, long sleepMs) {
+            this.runId = runId;
+            this.test = test.replaceAll("[\\t\\r\\n]", " ");
+            this.status = status;
+            this.durationMs = durationMs;
+            this.commands = commands;
+            this.waitMs = waitMs;
+            this.sleepMs = sleepMs;
+        }
+
+        static Entry of(long runId, TestTiming timing) {
+            return new Entry(runId, timing.getName(), timing.getStatus(), timing.getDurationMillis(),
+                    timing.getCommandCount(), timing.getMillis(StepCategory.WAIT), timing.getMillis(StepCategory.SLEEP));
+        }
+
+        static Entry parse(String line) {
+            String[] fields = line.split("\t");
+            if (fields.length < 7) {
+                return null;
+            }
+            try {
+                return new Entry(Long.parseLong(fields[0]), fields[1], fields[2], Long.parseLong(fields[3]),
+                        Integer.parseInt(fields[4]), Long.parseLong(fields[5]), Long.parseLong(fields[6]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        String toLine() {
+            return String.join("\t", String.valueOf(runId), test, status, String.valueOf(durationMs),
+                    String.valueOf(commands), String.valueOf(waitMs), String.valueOf(sleepMs));
+        }
+    }
+}
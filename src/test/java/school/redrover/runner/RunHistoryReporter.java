@@ -0,0 +1,102 @@
+package school.redrover.runner;
+
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends the tests of this run to {@link RunHistory} and flags the ones that got slower than their rolling
+ * baseline: the last {@code history.baseline} passing runs (10 by default, at least 5 are needed).
+ * <p>
+ * A test is a regression when its duration is above {@code mean + history.sigma * stddev} (3 by default)
+ * and also at least {@code history.minSlowdownMs} (250 by default) and 20% slower than the mean,
+ * so a fast and very stable test does not trip on a few milliseconds of noise.
+ * The list goes to the console and to {@code run-history/regressions.txt} in the report directory of the JVM,
+ * so with {@code -Pforks} every fork keeps its own list in {@code target/fork-N}.
+ * <p>
+ * A reused fork runs one TestNG run per test class and reports after each, so the JVM is one run: one run id,
+ * only the tests not yet written are appended, and the list holds the regressions of all its classes so far.
+ */
+public class RunHistoryReporter implements IReporter {
+
+    private static final int MIN_BASELINE = 5;
+
+    private static final long RUN_ID = System.currentTimeMillis();
+    private static final List<String> REGRESSIONS = new ArrayList<>();
+    private static int written;
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        appendNewTimings();
+    }
+
+    private static synchronized void appendNewTimings() {
+        List<TestTiming> timings = StepTimingListener.getTimings();
+        if (timings.size() <= written) {
+            return;
+        }
+
+        List<RunHistory.Entry> current = new ArrayList<>();
+        for (TestTiming timing : timings.subList(written, timings.size())) {
+            current.add(RunHistory.Entry.of(RUN_ID, timing));
+        }
+
+        List<String> regressions = findRegressions(RunHistory.load(), current);
+        try {
+            RunHistory.append(current);
+            written = timings.size();
+            REGRESSIONS.addAll(regressions);
+
+            Path report = ProjectUtils.getReportDir("run-history").resolve("regressions.txt");
+            Files.write(report, REGRESSIONS, StandardCharsets.UTF_8);
+            if (!regressions.isEmpty()) {
+                ProjectUtils.log("Performance regressions (" + regressions.size() + "), see " + report.toAbsolutePath());
+                regressions.forEach(ProjectUtils::log);
+            }
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write run history: " + e.getMessage());
+        }
+    }
+
+    static List<String> findRegressions(List<RunHistory.Entry> history, List<RunHistory.Entry> current) {
+        int baselineSize = Integer.getInteger("history.baseline", 10);
+        double sigma = Double.parseDouble(System.getProperty("history.sigma", "3"));
+        long minSlowdownMs = Long.getLong("history.minSlowdownMs", 250);
+
+        Map<String, List<Long>> passed = new HashMap<>();
+        for (RunHistory.Entry entry : history) {
+            if ("PASS".equals(entry.status)) {
+                passed.computeIfAbsent(entry.test, k -> new ArrayList<>()).add(entry.durationMs);
+            }
+        }
+
+        List<String> regressions = new ArrayList<>();
+        for (RunHistory.Entry entry : current) {
+            List<Long> durations = passed.getOrDefault(entry.test, List.of());
+            if (!"PASS".equals(entry.status) || durations.size() < MIN_BASELINE) {
+                continue;
+            }
+
+            List<Long> baseline = durations.subList(Math.max(0, durations.size() - baselineSize), durations.size());
+            double mean = baseline.stream().mapToLong(Long::longValue).average().orElse(0);
+            double variance = baseline.stream().mapToDouble(d -> (d - mean) * (d - mean)).sum() / (baseline.size() - 1);
+            double limit = Math.max(mean + sigma * Math.sqrt(variance), Math.max(mean * 1.2, mean + minSlowdownMs));
+
+            if (entry.durationMs > limit) {
+                regressions.add(String.format("%s: %d ms, baseline %.0f ms +/- %.0f ms over %d runs (wait %d ms, sleep %d ms, %d commands)",
+                        entry.test, entry.durationMs, mean, Math.sqrt(variance), baseline.size(),
+                        entry.waitMs, entry.sleepMs, entry.commands));
+            }
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,106 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the last {@code video.seconds} (20 by default) of a session in memory as CDP screencast frames, at most
+ * {@code video.maxKb} (4096) of them per session.
+ * <p>
+ * Chrome pushes a small JPEG only when the screen changes, every second frame at most, so an idle page costs nothing.
+ * The frames are never decoded or written while the test is running; {@link FailureCaptureListener} takes them only
+ * when the test fails and turns them into an MJPEG AVI. Recording is on by default only for
+ * {@link BrowserProfile#DEBUG_HEADED} runs; {@code -Dvideo.record=true|false} turns it on or off for any profile.
+ * The commands are sent by name, so recording does not depend on the CDP version bundled with Selenium.
+ */
+final class ScreencastRecorder {
+
+    private static final Map<WebDriver, ScreencastRecorder> RECORDERS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final Event<Map<String, Object>> SCREENCAST_FRAME =
+            new Event<>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE));
+
+    private static final long MAX_BYTES = Long.getLong("video.maxKb", 4096) * 1024;
+
+    static final class Frame {
+        final long timestampMillis;
+        final String base64Jpeg;
+
+        Frame(long timestampMillis, String base64Jpeg) {
+            this.timestampMillis = timestampMillis;
+            this.base64Jpeg = base64Jpeg;
+        }
+    }
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final long windowMillis = Long.getLong("video.seconds", 20) * 1000;
+    private long bytes;
+
+    private ScreencastRecorder() {
+    }
+
+    static boolean isEnabled(BrowserProfile profile) {
+        String record = System.getProperty("video.record");
+        return record != null ? Boolean.parseBoolean(record) : profile == BrowserProfile.DEBUG_HEADED;
+    }
+
+    static void start(WebDriver driver, BrowserProfile profile) {
+        if (!isEnabled(profile) || !(driver instanceof HasDevTools)) {
+            return;
+        }
+
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+
+            ScreencastRecorder recorder = new ScreencastRecorder();
+            devTools.addListener(SCREENCAST_FRAME, frame -> {
+                recorder.add(new Frame(System.currentTimeMillis(), (String) frame.get("data")));
+                devTools.send(new Command<Void>("Page.screencastFrameAck", Map.of("sessionId", frame.get("sessionId"))));
+            });
+            devTools.send(new Command<Void>("Page.startScreencast",
+                    Map.of("format", "jpeg", "quality", 40, "maxWidth", 960, "maxHeight", 540, "everyNthFrame", 2)));
+
+            RECORDERS.put(driver, recorder);
+        } catch (RuntimeException e) {
+            ProjectUtils.log("Screencast is not available, failure videos are off for this session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Frames of the last {@code video.seconds}, oldest first; empty when the session is not recorded.
+     */
+    static List<Frame> lastFrames(WebDriver driver) {
+        ScreencastRecorder recorder = RECORDERS.get(driver);
+        if (recorder == null) {
+            return List.of();
+        }
+        synchronized (recorder.frames) {
+            return new ArrayList<>(recorder.frames);
+        }
+    }
+
+    private void add(Frame frame) {
+        synchronized (frames) {
+            frames.addLast(frame);
+            // base64 is ASCII, which a compact string keeps in one byte per character
+            bytes += frame.base64Jpeg.length();
+            while (!frames.isEmpty()
+                    && (bytes > MAX_BYTES || frame.timestampMillis - frames.peekFirst().timestampMillis > windowMillis)) {
+                bytes -= frames.removeFirst().base64Jpeg.length();
+            }
+        }
+    }
+}
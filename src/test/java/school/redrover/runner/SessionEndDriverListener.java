@@ -0,0 +1,21 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Last look at a session before it quits, for what is kept per session: its memory goes to
+ * {@link SessionMemoryListener}, and {@link Uploads} forgets the files it sent to its node.
+ */
+public class SessionEndDriverListener implements WebDriverListener {
+
+    @Override
+    public void beforeQuit(WebDriver driver) {
+        try {
+            SessionMemoryListener.sampleOnQuit(driver);
+        } catch (RuntimeException e) {
+            ProjectUtils.log("Cannot sample session memory: " + e.getMessage());
+        }
+        Uploads.forget(driver);
+    }
+}
@@ -0,0 +1,142 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Memory taken by one browser session.
+ * <p>
+ * The page side comes from CDP {@code Performance.getMetrics}: JS heap, DOM nodes, documents. The process side
+ * comes from {@code SystemInfo.getProcessInfo} when the endpoint lets the command through to the browser; chromedriver
+ * usually does not, and then a local session is found by its {@code --user-data-dir} among the processes of this JVM.
+ * Resident memory is read from {@code /proc/<pid>/status}, so it is only known for local sessions on Linux.
+ */
+public final class SessionMemory {
+
+    private static volatile boolean systemInfoAvailable = true;
+
+    private SessionMemory() {
+    }
+
+    /**
+     * One sample of {@code driver}: {@code jsHeapUsedKb}, {@code jsHeapTotalKb}, {@code domNodes}, {@code documents},
+     * and when known {@code processes}, {@code renderers} and {@code rssKb}. Empty when the driver has no CDP.
+     */
+    public static Map<String, Object> sample(WebDriver driver) {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        if (!(driver instanceof HasCdp)) {
+            return sample;
+        }
+
+        HasCdp cdp = (HasCdp) driver;
+        try {
+            cdp.executeCdpCommand("Performance.enable", Map.of());
+            Map<String, Object> result = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+            Map<String, Number> metrics = new LinkedHashMap<>();
+            for (Object metric : (List<?>) result.get("metrics")) {
+                Map<?, ?> entry = (Map<?, ?>) metric;
+                metrics.put((String) entry.get("name"), (Number) entry.get("value"));
+            }
+            sample.put("jsHeapUsedKb", metrics.getOrDefault("JSHeapUsedSize", 0).longValue() / 1024);
+            sample.put("jsHeapTotalKb", metrics.getOrDefault("JSHeapTotalSize", 0).longValue() / 1024);
+            sample.put("domNodes", metrics.getOrDefault("Nodes", 0).longValue());
+            sample.put("documents", metrics.getOrDefault("Documents", 0).longValue());
+        } catch (WebDriverException e) {
+            ProjectUtils.log("Cannot read performance metrics: " + e.getMessage());
+        }
+
+        List<Long> pids = new ArrayList<>();
+        int renderers = 0;
+        Optional<List<?>> processes = systemInfoProcesses(cdp);
+        if (processes.isPresent()) {
+            for (Object process : processes.get()) {
+                Map<?, ?> info = (Map<?, ?>) process;
+                pids.add(((Number) info.get("id")).longValue());
+                if ("renderer".equals(info.get("type"))) {
+                    renderers++;
+                }
+            }
+        } else {
+            for (ProcessHandle process : localProcessTree(driver)) {
+                pids.add(process.pid());
+                if (process.info().commandLine().orElse("").contains("--type=renderer")) {
+                    renderers++;
+                }
+            }
+        }
+
+        if (!pids.isEmpty()) {
+            sample.put("processes", pids.size());
+            sample.put("renderers", renderers);
+            long rss = pids.stream().mapToLong(SessionMemory::rssKb).sum();
+            if (rss > 0) {
+                sample.put("rssKb", rss);
+            }
+        }
+        return sample;
+    }
+
+    private static Optional<List<?>> systemInfoProcesses(HasCdp cdp) {
+        if (!systemInfoAvailable) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((List<?>) cdp.executeCdpCommand("SystemInfo.getProcessInfo", Map.of()).get("processInfo"));
+        } catch (WebDriverException e) {
+            systemInfoAvailable = false;
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The browser process of a local session and all its children.
+     */
+    private static List<ProcessHandle> localProcessTree(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return List.of();
+        }
+        Object chrome = ((HasCapabilities) driver).getCapabilities().getCapability("chrome");
+        Object userDataDir = chrome instanceof Map ? ((Map<?, ?>) chrome).get("userDataDir") : null;
+        if (userDataDir == null) {
+            return List.of();
+        }
+
+        String argument = "--user-data-dir=" + userDataDir;
+        return ProcessHandle.current().descendants()
+                .filter(process -> {
+                    String commandLine = process.info().commandLine().orElse("");
+                    return commandLine.contains(argument) && !commandLine.contains("--type=");
+                })
+                .findFirst()
+                .map(browser -> Stream.concat(Stream.of(browser), browser.descendants()).toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Resident set size of a process in KB, 0 when it has exited or {@code /proc} is not available.
+     */
+    public static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // the process has already exited or /proc is not available
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,128 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Samples {@link SessionMemory} of each session once, right before it quits ({@link SessionEndDriverListener}), when
+ * it has had all its tests. {@code -Dmemory.sample=test} samples every open session after each test method instead,
+ * which costs a few CDP calls per test; {@code -Dmemory.sample=false} turns sampling off.
+ * {@code target/memory/memory.json} has the peak of each session and all samples; the peaks are also logged,
+ * which is the number to size {@code SE_NODE_MAX_SESSIONS} by.
+ */
+public class SessionMemoryListener implements IInvokedMethodListener, IReporter {
+
+    private static final List<String> METRICS =
+            List.of("rssKb", "jsHeapUsedKb", "jsHeapTotalKb", "domNodes", "documents", "processes", "renderers");
+
+    private static final Queue<Map<String, Object>> SAMPLES = new ConcurrentLinkedQueue<>();
+
+    private static String mode() {
+        return System.getProperty("memory.sample", "close");
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !mode().equals("test")) {
+            return;
+        }
+
+        List<WebDriver> drivers = Sessions.openSince(0);
+        if (drivers.isEmpty()) {
+            return;
+        }
+
+        String test = TestTiming.nameOf(testResult);
+        for (WebDriver driver : drivers) {
+            sample(test, driver);
+        }
+        StepTimings.resetIdleClock();
+    }
+
+    /**
+     * Last sample of a session that is about to quit.
+     */
+    static void sampleOnQuit(WebDriver driver) {
+        if (mode().equals("close")) {
+            sample(PageTimings.currentTestName(), driver);
+        }
+    }
+
+    private static void sample(String test, WebDriver driver) {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        sample.put("test", test);
+        sample.put("session", driver instanceof RemoteWebDriver
+                ? String.valueOf(((RemoteWebDriver) driver).getSessionId()) : "local");
+        sample.putAll(SessionMemory.sample(driver));
+        SAMPLES.add(sample);
+    }
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        if (SAMPLES.isEmpty()) {
+            return;
+        }
+
+        Map<String, Map<String, Object>> peaks = new LinkedHashMap<>();
+        for (Map<String, Object> sample : SAMPLES) {
+            Map<String, Object> peak = peaks.computeIfAbsent((String) sample.get("session"), session -> {
+                Map<String, Object> empty = new LinkedHashMap<>();
+                empty.put("session", session);
+                empty.put("samples", 0);
+                return empty;
+            });
+            peak.put("samples", (Integer) peak.get("samples") + 1);
+            for (String metric : METRICS) {
+                if (sample.get(metric) instanceof Number) {
+                    long value = ((Number) sample.get(metric)).longValue();
+                    peak.merge(metric, value, (a, b) -> Math.max((Long) a, (Long) b));
+                }
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sessions", new ArrayList<>(peaks.values()));
+        report.put("samples", new ArrayList<>(SAMPLES));
+
+        Path dir = ProjectUtils.getReportDir("memory");
+        try {
+            Files.writeString(dir.resolve("memory.json"), new Json().toJson(report), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write memory report: " + e.getMessage());
+            return;
+        }
+
+        StringBuilder summary = new StringBuilder(String.format("Memory per session (%d sessions):", peaks.size()));
+        for (String metric : List.of("rssKb", "jsHeapUsedKb", "domNodes")) {
+            List<Long> values = new ArrayList<>();
+            for (Map<String, Object> peak : peaks.values()) {
+                if (peak.get(metric) instanceof Long) {
+                    values.add((Long) peak.get(metric));
+                }
+            }
+            if (!values.isEmpty()) {
+                summary.append(String.format(" %s p50=%d p95=%d max=%d;", metric,
+                        Stats.percentile(values, 0.5), Stats.percentile(values, 0.95), Stats.percentile(values, 1.0)));
+            }
+        }
+        ProjectUtils.log(summary + " " + dir.resolve("memory.json").toAbsolutePath());
+    }
+}
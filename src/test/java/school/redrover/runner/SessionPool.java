@@ -0,0 +1,149 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Browser sessions leased per test invocation, for {@code @DataProvider(parallel = true)} tests where every row
+ * runs on its own thread and a single driver field cannot be shared.
+ * <p>
+ * {@link #lease} gives the calling thread an idle session or starts a new one; {@link #release} clears cookies
+ * and web storage and puts it back, so tens of rows need only as many browsers as run at once.
+ * How many rows of one data provider run at once is capped by {@code -Ddataprovider.<name>.threads},
+ * else {@code -Ddataprovider.threads} (4, the sessions of one grid node); rows over the cap wait for a session.
+ * The suite-wide {@code data-provider-thread-count} of TestNG stays the upper bound.
+ */
+public final class SessionPool implements AutoCloseable {
+
+    private static final class Session {
+        final WebDriver raw;
+        final WebDriver decorated;
+        Semaphore cap;
+
+        Session(WebDriver raw) {
+            this.raw = raw;
+            this.decorated = DriverFactory.decorate(raw);
+        }
+    }
+
+    private final BrowserProfile profile = BrowserProfile.current();
+    private final Deque<Session> idle = new ArrayDeque<>();
+    private final Map<WebDriver, Session> leased = new IdentityHashMap<>();
+    private final Map<String, Semaphore> caps = new ConcurrentHashMap<>();
+
+    /**
+     * Session for the invocation of {@code testMethod}, counted against the cap of its data provider.
+     */
+    public WebDriver lease(Method testMethod) {
+        Test test = testMethod.getAnnotation(Test.class);
+        String provider = test == null || test.dataProvider().isEmpty() ? testMethod.getName() : test.dataProvider();
+        Semaphore cap = caps.computeIfAbsent(provider, name -> new Semaphore(threadCap(name)));
+        cap.acquireUninterruptibly();
+
+        Session session;
+        try {
+            synchronized (this) {
+                session = idle.pollFirst();
+            }
+            if (session == null) {
+                session = new Session(DriverFactory.createRawDriver(profile, new ChromeOptions()));
+            } else {
+                Sessions.register(session.raw);
+            }
+        } catch (RuntimeException e) {
+            cap.release();
+            throw e;
+        }
+
+        session.cap = cap;
+        synchronized (this) {
+            leased.put(session.decorated, session);
+        }
+        return session.decorated;
+    }
+
+    public void release(WebDriver driver) {
+        Session session;
+        synchronized (this) {
+            session = leased.remove(driver);
+        }
+        if (session == null) {
+            return;
+        }
+
+        Sessions.unregister(session.raw);
+        try {
+            if (reset(session)) {
+                synchronized (this) {
+                    idle.addLast(session);
+                }
+            }
+        } finally {
+            session.cap.release();
+        }
+    }
+
+    /**
+     * Quits the idle sessions; call it once the tests that lease from this pool are done.
+     */
+    @Override
+    public void close() {
+        Deque<Session> sessions;
+        synchronized (this) {
+            sessions = new ArrayDeque<>(idle);
+            idle.clear();
+        }
+        for (Session session : sessions) {
+            try {
+                session.decorated.quit();
+            } catch (WebDriverException e) {
+                ProjectUtils.log("Cannot quit pooled session: " + e.getMessage());
+            }
+        }
+    }
+
+    private static int threadCap(String provider) {
+        return Integer.getInteger("dataprovider." + provider + ".threads", Integer.getInteger("dataprovider.threads", 4));
+    }
+
+    /**
+     * Clears what one row could leave for the next: web storage of the current page and the cookies of all sites.
+     * A session that was quit or does not respond is dropped.
+     */
+    private static boolean reset(Session session) {
+        if (session.raw instanceof RemoteWebDriver && ((RemoteWebDriver) session.raw).getSessionId() == null) {
+            return false;
+        }
+        try {
+            ((JavascriptExecutor) session.decorated).executeScript(
+                    "try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+            if (session.raw instanceof HasCdp) {
+                ((HasCdp) session.raw).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                session.decorated.manage().deleteAllCookies();
+            }
+            return true;
+        } catch (WebDriverException e) {
+            ProjectUtils.log("Dropping pooled session that cannot be reset: " + e.getMessage());
+            try {
+                session.decorated.quit();
+            } catch (WebDriverException ignored) {
+                // already gone
+            }
+            return false;
+        }
+    }
+}
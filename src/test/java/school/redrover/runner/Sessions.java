@@ -0,0 +1,73 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Browser sessions created by {@link DriverFactory} on the current thread and not quit yet.
+ * Many tests create their driver inside the test method and quit it on the last line,
+ * so a failed assertion leaves the session open; this is how the runner finds and closes them.
+ */
+final class Sessions {
+
+    private static final ThreadLocal<List<Session>> OPEN = ThreadLocal.withInitial(ArrayList::new);
+
+    private static final class Session {
+        final WebDriver driver;
+        final long createdMillis;
+
+        Session(WebDriver driver, long createdMillis) {
+            this.driver = driver;
+            this.createdMillis = createdMillis;
+        }
+    }
+
+    private Sessions() {
+    }
+
+    static void register(WebDriver driver) {
+        List<Session> sessions = OPEN.get();
+        sessions.removeIf(session -> !isAlive(session.driver));
+        sessions.add(new Session(driver, System.currentTimeMillis()));
+    }
+
+    /**
+     * Forgets a session handed over to another thread, see {@link SessionPool}.
+     */
+    static void unregister(WebDriver driver) {
+        OPEN.get().removeIf(session -> session.driver == driver);
+    }
+
+    /**
+     * Open sessions of this thread created at or after {@code sinceMillis}, oldest first.
+     */
+    static List<WebDriver> openSince(long sinceMillis) {
+        List<WebDriver> drivers = new ArrayList<>();
+        for (Session session : OPEN.get()) {
+            if (session.createdMillis >= sinceMillis && isAlive(session.driver)) {
+                drivers.add(session.driver);
+            }
+        }
+        return drivers;
+    }
+
+    static void quitCreatedSince(long sinceMillis) {
+        for (WebDriver driver : openSince(sinceMillis)) {
+            try {
+                Uploads.forget(driver);
+                driver.quit();
+            } catch (WebDriverException e) {
+                ProjectUtils.log("Cannot quit leaked session: " + e.getMessage());
+            }
+        }
+        OPEN.get().removeIf(session -> !isAlive(session.driver));
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        return !(driver instanceof RemoteWebDriver) || ((RemoteWebDriver) driver).getSessionId() != null;
+    }
+}
@@ -0,0 +1,24 @@
+package school.redrover.runner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+final class Stats {
+
+    private Stats() {
+    }
+
+    /**
+     * Nearest-rank percentile, {@code p} in [0, 1]. Returns 0 for an empty list.
+     */
+    static long percentile(List<Long> values, double p) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+}
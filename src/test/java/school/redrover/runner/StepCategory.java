@@ -0,0 +1,31 @@
+package school.redrover.runner;
+
+/**
+ * Where the time of a test goes. {@link #OTHER} is what is left after all measured steps: test code and assertions.
+ */
+public enum StepCategory {
+    LAUNCH("browser launch"),
+    NAVIGATE("get / navigate"),
+    FIND("find element"),
+    READ("element reads"),
+    WAIT("explicit wait"),
+    SLEEP("explicit sleep"),
+    SCRIPT("JS execution"),
+    ACTION("user actions"),
+    QUIT("quit"),
+    OTHER("other");
+
+    private final String title;
+
+    StepCategory(String title) {
+        this.title = title;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public boolean isWasted() {
+        return this == WAIT || this == SLEEP;
+    }
+}
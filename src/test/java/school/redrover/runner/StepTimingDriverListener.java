@@ -0,0 +1,110 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes the time of every WebDriver command to a {@link StepCategory}.
+ * <p>
+ * Commands issued from inside {@code FluentWait.until} count as {@link StepCategory#WAIT}, together with the
+ * polling pauses between them. Any other pause between two commands longer than {@link #IDLE_THRESHOLD_NANOS}
+ * is test code doing nothing, which in this suite means {@code Thread.sleep}, so it counts as
+ * {@link StepCategory#SLEEP}.
+ */
+public class StepTimingDriverListener implements WebDriverListener {
+
+    private static final long IDLE_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private static final ThreadLocal<Command> COMMAND = ThreadLocal.withInitial(Command::new);
+
+    private static final class Command {
+        int depth;
+        long start;
+        StepCategory category;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        Command command = COMMAND.get();
+        if (command.depth++ > 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        boolean inWait = isInsideWait();
+
+        long lastCommandEnd = StepTimings.current().getLastCommandEnd();
+        if (lastCommandEnd > 0 && now - lastCommandEnd > IDLE_THRESHOLD_NANOS) {
+            StepTimings.add(inWait ? StepCategory.WAIT : StepCategory.SLEEP, now - lastCommandEnd);
+        }
+
+        command.start = now;
+        command.category = inWait ? StepCategory.WAIT : categorize(target, method.getName());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish();
+    }
+
+    private static void finish() {
+        Command command = COMMAND.get();
+        if (--command.depth == 0) {
+            StepTimings.addSince(command.category, command.start);
+            if (command.category == StepCategory.QUIT) {
+                StepTimings.resetIdleClock();
+            }
+        }
+    }
+
+    private static boolean isInsideWait() {
+        return STACK_WALKER.walk(frames -> frames
+                .anyMatch(frame -> frame.getClassName().equals("org.openqa.selenium.support.ui.FluentWait")));
+    }
+
+    private static StepCategory categorize(Object target, String method) {
+        if (target instanceof WebDriver.Navigation) {
+            return StepCategory.NAVIGATE;
+        }
+        if (target instanceof Alert) {
+            return StepCategory.ACTION;
+        }
+
+        switch (method) {
+            case "get":
+                return target instanceof WebDriver ? StepCategory.NAVIGATE : StepCategory.OTHER;
+            case "findElement":
+            case "findElements":
+            case "getShadowRoot":
+                return StepCategory.FIND;
+            case "executeScript":
+            case "executeAsyncScript":
+                return StepCategory.SCRIPT;
+            case "click":
+            case "sendKeys":
+            case "clear":
+            case "submit":
+            case "perform":
+            case "resetInputState":
+                return StepCategory.ACTION;
+            case "quit":
+            case "close":
+                return StepCategory.QUIT;
+            default:
+                return target instanceof WebElement ? StepCategory.READ : StepCategory.OTHER;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.json.Json;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IReporter;
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Turns the per-thread {@link StepTimings} into one {@link TestTiming} per test and writes
+ * {@code target/step-timings/step-timings.json} plus an HTML summary sorted by wasted (wait + sleep) time.
+ * Registered for every run through {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class StepTimingListener implements IInvokedMethodListener, IReporter {
+
+    private static final Queue<TestTiming> TIMINGS = new ConcurrentLinkedQueue<>();
+
+    private static final ThreadLocal<Window> WINDOW = ThreadLocal.withInitial(Window::new);
+
+    private static final class Window {
+        boolean open;
+        long start;
+        TestTiming last;
+    }
+
+    static List<TestTiming> getTimings() {
+        return new ArrayList<>(TIMINGS);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ITestNGMethod testMethod = method.getTestMethod();
+        Window window = WINDOW.get();
+        if (!window.open && (method.isTestMethod() || testMethod.isBeforeMethodConfiguration())) {
+            StepTimings.snapshotAndReset();
+            window.open = true;
+            window.start = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Window window = WINDOW.get();
+        long now = System.nanoTime();
+
+        if (method.isTestMethod() && window.open) {
+            window.last = new TestTiming(testResult, statusOf(testResult), now - window.start,
+                    StepTimings.snapshotAndReset());
+            TIMINGS.add(window.last);
+            window.open = false;
+            window.start = now;
+        } else if (method.getTestMethod().isAfterMethodConfiguration() && window.last != null) {
+            window.last.merge(StepTimings.snapshotAndReset(), now - window.start);
+            window.start = now;
+        }
+    }
+
+    private static String statusOf(ITestResult result) {
+        Object original = result.getAttribute(FlakyTestListener.ORIGINAL_STATUS);
+        int status = original instanceof Integer ? (Integer) original : result.getStatus();
+        switch (status) {
+            case ITestResult.SUCCESS:
+                return "PASS";
+            case ITestResult.FAILURE:
+                return "FAIL";
+            case ITestResult.SKIP:
+                return "SKIP";
+            default:
+                return String.valueOf(status);
+        }
+    }
+
+    @Override
+    public void generateReport(List<XmlSuite> xmlSuites, List<ISuite> suites, String outputDirectory) {
+        List<TestTiming> timings = getTimings();
+        if (timings.isEmpty()) {
+            return;
+        }
+        timings.sort(Comparator.comparingLong(TestTiming::getWastedMillis).reversed()
+                .thenComparing(Comparator.comparingLong(TestTiming::getDurationMillis).reversed()));
+
+        Path dir = ProjectUtils.getReportDir("step-timings");
+        try {
+            Files.writeString(dir.resolve("step-timings.json"),
+                    new Json().toJson(timings.stream().map(TestTiming::toJson).collect(Collectors.toList())),
+                    StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("step-timings.html"), toHtml(timings), StandardCharsets.UTF_8);
+            ProjectUtils.log("Step timing report: " + dir.toAbsolutePath());
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot write step timing report: " + e.getMessage());
+        }
+    }
+
+    private static String toHtml(List<TestTiming> timings) {
+        StringBuilder html = new StringBuilder()
+                .append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Step timings</title>")
+                .append("<style>body{font-family:sans-serif}table{border-collapse:collapse}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:right}")
+                .append("td:first-child{text-align:left}.wasted{background:#fde2e2}</style></head><body>\n")
+                .append("<h1>Step timings, ms</h1>\n<p>Sorted by wasted time (explicit wait + explicit sleep).</p>\n")
+                .append("<table>\n<tr><th>Test</th><th>Status</th><th>Total</th><th>Wasted</th>");
+        for (StepCategory category : StepCategory.values()) {
+            html.append("<th>").append(category.getTitle()).append("</th>");
+        }
+        html.append("</tr>\n");
+
+        for (TestTiming timing : timings) {
+            html.append("<tr><td>").append(escape(timing.getName())).append("</td>")
+                    .append("<td>").append(timing.getStatus()).append("</td>")
+                    .append("<td>").append(timing.getDurationMillis()).append("</td>")
+                    .append("<td class=\"wasted\">").append(timing.getWastedMillis()).append("</td>");
+            for (StepCategory category : StepCategory.values()) {
+                html.append(category.isWasted() ? "<td class=\"wasted\">" : "<td>")
+                        .append(timing.getMillis(category)).append("</td>");
+            }
+            html.append("</tr>\n");
+        }
+
+        return html.append("</table>\n</body></html>\n").toString();
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
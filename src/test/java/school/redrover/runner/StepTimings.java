@@ -0,0 +1,76 @@
+package school.redrover.runner;
+
+/**
+ * Per-thread accumulator of step durations and command counts. TestNG runs a test and its configuration methods
+ * on one thread, so whatever the driver listener adds here belongs to the test that is currently running on it.
+ */
+public final class StepTimings {
+
+    private static final ThreadLocal<StepTimings> CURRENT = ThreadLocal.withInitial(StepTimings::new);
+
+    private final long[] nanos = new long[StepCategory.values().length];
+    private final int[] counts = new int[StepCategory.values().length];
+
+    private long lastCommandEnd;
+
+    private StepTimings() {
+    }
+
+    static StepTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Adds time that was not spent in a WebDriver command, e.g. an idle gap between two commands.
+     */
+    public static void add(StepCategory category, long durationNanos) {
+        current().nanos[category.ordinal()] += durationNanos;
+    }
+
+    /**
+     * Adds one command of the given category that started at {@code startNanos} and ends now.
+     */
+    static void addSince(StepCategory category, long startNanos) {
+        long now = System.nanoTime();
+        StepTimings timings = current();
+        timings.nanos[category.ordinal()] += now - startNanos;
+        timings.counts[category.ordinal()]++;
+        timings.lastCommandEnd = now;
+    }
+
+    static void resetIdleClock() {
+        current().lastCommandEnd = 0;
+    }
+
+    /**
+     * Hands over what the current thread has collected so far and starts from zero.
+     */
+    static StepTimings snapshotAndReset() {
+        StepTimings timings = CURRENT.get();
+        CURRENT.set(new StepTimings());
+        return timings;
+    }
+
+    void merge(StepTimings other) {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] += other.nanos[i];
+            counts[i] += other.counts[i];
+        }
+    }
+
+    long getNanos(StepCategory category) {
+        return nanos[category.ordinal()];
+    }
+
+    int getCommandCount() {
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    long getLastCommandEnd() {
+        return lastCommandEnd;
+    }
+}
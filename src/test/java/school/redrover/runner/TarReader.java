@@ -0,0 +1,205 @@
+package school.redrover.runner;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Forward-only reader of a POSIX/GNU tar stream: ustar headers, GNU long names and pax {@code path},
+ * {@code linkpath} and {@code size} records. Just enough for the Jenkins snapshot, which is made with GNU tar.
+ */
+final class TarReader {
+
+    private static final int BLOCK = 512;
+
+    static final class Entry {
+        String name;
+        String linkName;
+        char type;
+        int mode;
+        long size;
+        long modifiedSeconds;
+
+        boolean isDirectory() {
+            return type == '5' || name.endsWith("/");
+        }
+
+        boolean isFile() {
+            return (type == '0' || type == '\0' || type == '7') && !name.endsWith("/");
+        }
+
+        boolean isSymbolicLink() {
+            return type == '2';
+        }
+    }
+
+    private final InputStream input;
+    private final byte[] header = new byte[BLOCK];
+
+    private long remaining;
+    private long padding;
+
+    TarReader(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     * The next entry, its content is read with {@link #content()} before asking for the next; {@code null} at the end.
+     */
+    Entry next() throws IOException {
+        skip(remaining + padding);
+        remaining = 0;
+        padding = 0;
+
+        String longName = null;
+        String longLinkName = null;
+        Long paxSize = null;
+        while (true) {
+            if (!readBlock()) {
+                return null;
+            }
+
+            Entry entry = new Entry();
+            entry.type = (char) header[156];
+            entry.size = number(124, 12);
+            entry.mode = (int) number(100, 8);
+            entry.modifiedSeconds = number(136, 12);
+
+            if (entry.type == 'L' || entry.type == 'K') {
+                String value = readString(entry.size);
+                if (entry.type == 'L') {
+                    longName = value;
+                } else {
+                    longLinkName = value;
+                }
+                continue;
+            }
+            if (entry.type == 'x' || entry.type == 'g') {
+                String records = readString(entry.size);
+                if (entry.type == 'x') {
+                    for (String record : records.split("\n")) {
+                        int space = record.indexOf(' ');
+                        int equals = record.indexOf('=');
+                        if (space < 0 || equals < space) {
+                            continue;
+                        }
+                        String key = record.substring(space + 1, equals);
+                        String value = record.substring(equals + 1);
+                        if (key.equals("path")) {
+                            longName = value;
+                        } else if (key.equals("linkpath")) {
+                            longLinkName = value;
+                        } else if (key.equals("size")) {
+                            paxSize = Long.parseLong(value);
+                        }
+                    }
+                }
+                continue;
+            }
+
+            String prefix = string(345, 155);
+            entry.name = longName != null ? longName : prefix.isEmpty() ? string(0, 100) : prefix + "/" + string(0, 100);
+            entry.linkName = longLinkName != null ? longLinkName : string(157, 100);
+            if (paxSize != null) {
+                entry.size = paxSize;
+            }
+
+            remaining = entry.isFile() ? entry.size : 0;
+            padding = entry.isFile() ? (BLOCK - entry.size % BLOCK) % BLOCK : 0;
+            if (!entry.isFile()) {
+                skip(entry.size + (BLOCK - entry.size % BLOCK) % BLOCK);
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * Content of the current file entry; not to be closed.
+     */
+    InputStream content() {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (remaining == 0) {
+                    return -1;
+                }
+                int read = input.read(buffer, offset, (int) Math.min(length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Tar stream ends inside an entry");
+                }
+                remaining -= read;
+                return read;
+            }
+        };
+    }
+
+    private boolean readBlock() throws IOException {
+        int read = input.readNBytes(header, 0, BLOCK);
+        if (read == 0) {
+            return false;
+        }
+        if (read < BLOCK) {
+            throw new EOFException("Truncated tar header");
+        }
+        for (byte b : header) {
+            if (b != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String readString(long size) throws IOException {
+        byte[] value = input.readNBytes((int) size);
+        skip((BLOCK - size % BLOCK) % BLOCK);
+        int end = value.length;
+        while (end > 0 && value[end - 1] == 0) {
+            end--;
+        }
+        return new String(value, 0, end, StandardCharsets.UTF_8);
+    }
+
+    private void skip(long bytes) throws IOException {
+        long left = bytes;
+        while (left > 0) {
+            long skipped = input.skip(left);
+            if (skipped <= 0) {
+                if (input.read() < 0) {
+                    throw new EOFException("Tar stream ends inside an entry");
+                }
+                skipped = 1;
+            }
+            left -= skipped;
+        }
+    }
+
+    private String string(int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) {
+            end++;
+        }
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Octal, or base-256 when the high bit of the first byte is set (GNU tar, sizes over 8 GB).
+     */
+    private long number(int offset, int length) {
+        if ((header[offset] & 0x80) != 0) {
+            long value = header[offset] & 0x7f;
+            for (int i = offset + 1; i < offset + length; i++) {
+                value = (value << 8) | (header[i] & 0xff);
+            }
+            return value;
+        }
+        String octal = string(offset, length).trim();
+        return octal.isEmpty() ? 0 : Long.parseLong(octal, 8);
+    }
+}
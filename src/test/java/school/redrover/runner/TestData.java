@@ -0,0 +1,156 @@
+package school.redrover.runner;
+
+import net.datafaker.Faker;
+
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fake people for forms. Faker and its dictionaries are loaded once per JVM in the background while the first
+ * browsers start, so tests do not pay for the loading; a person is then generated when a test asks for it, which
+ * takes a few milliseconds.
+ * <p>
+ * Every person is derived from the run seed, the test ({@code SimpleClassName.method(params)}) and how many people
+ * that test has drawn before, so {@code -Dtestdata.seed=<seed>} gives a failed test the same people when it is
+ * re-run alone as it got in the parallel run. The seed is logged at start. Names and e-mails are unique within a run:
+ * a clash is drawn again, which is the one case a replay does not repeat. Hand-out is lock-free, every worker
+ * generates with its own {@link Faker}. Locale: {@code -Dtestdata.locale} (en).
+ */
+public final class TestData {
+
+    private static final long SEED = Long.getLong("testdata.seed", System.nanoTime());
+    private static final Locale LOCALE = Locale.forLanguageTag(System.getProperty("testdata.locale", "en"));
+
+    private static final Set<String> USED = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean WARMED_UP = new AtomicBoolean();
+
+    private static final ThreadLocal<Generator> GENERATOR = ThreadLocal.withInitial(Generator::new);
+    private static final ThreadLocal<Draws> DRAWS = ThreadLocal.withInitial(Draws::new);
+
+    static {
+        ProjectUtils.log("Test data seed: " + SEED + " (replay with -Dtestdata.seed=" + SEED + ")");
+    }
+
+    public static final class Person {
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String phone;
+        private final String address;
+
+        private Person(String firstName, String lastName, String email, String phone, String address) {
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.email = email;
+            this.phone = phone;
+            this.address = address;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getFullName() {
+            return firstName + " " + lastName;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPhone() {
+            return phone;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        @Override
+        public String toString() {
+            return getFullName() + " <" + email + ">";
+        }
+    }
+
+    private TestData() {
+    }
+
+    /**
+     * Loads Faker and the dictionaries of everything a person has in the background, once per JVM; called at suite
+     * start by {@link TestDataListener}, which a reused fork does for every test class.
+     */
+    static void warmUp() {
+        if (!WARMED_UP.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                person(GENERATOR.get(), SEED);
+            } catch (RuntimeException e) {
+                ProjectUtils.log("Test data warm-up failed: " + e);
+            }
+        }, "test-data");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static Person nextPerson() {
+        ITestResult result = Reporter.getCurrentTestResult();
+        String key = key(result, DRAWS.get().next(result));
+        Generator generator = GENERATOR.get();
+        for (int attempt = 0; ; attempt++) {
+            Person person = person(generator, (SEED * 1_000_003 + key.hashCode()) * 1_000_003 + attempt);
+            if (USED.add(person.getFullName()) && USED.add(person.email)) {
+                return person;
+            }
+        }
+    }
+
+    /**
+     * {@code SimpleClassName.method(params)#<draw>}: what a person is derived from besides the seed.
+     */
+    private static String key(ITestResult result, int draw) {
+        return (result != null ? TestTiming.nameOf(result) : "unknown") + "#" + draw;
+    }
+
+    private static Person person(Generator generator, long seed) {
+        generator.random.setSeed(seed);
+        Faker faker = generator.faker;
+        String firstName = faker.name().firstName();
+        String lastName = faker.name().lastName();
+        String localPart = (firstName + "." + lastName).toLowerCase(Locale.ROOT).replaceAll("[^a-z.]", "");
+        String email = faker.internet().emailAddress(localPart.replace(".", "").isEmpty() ? "user" : localPart);
+        return new Person(firstName, lastName, email, faker.phoneNumber().cellPhone(), faker.address().fullAddress());
+    }
+
+    private static final class Generator {
+        final Random random = new Random();
+        final Faker faker = new Faker(LOCALE, random);
+    }
+
+    /**
+     * How many people the test running on this thread has drawn.
+     */
+    private static final class Draws {
+        ITestResult test;
+        int count;
+
+        int next(ITestResult result) {
+            if (result != test) {
+                test = result;
+                count = 0;
+            }
+            return count++;
+        }
+    }
+}
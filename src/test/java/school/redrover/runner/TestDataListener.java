@@ -0,0 +1,15 @@
+package school.redrover.runner;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Starts loading {@link TestData} in the background while the first browsers start.
+ */
+public class TestDataListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        TestData.warmUp();
+    }
+}
@@ -0,0 +1,60 @@
+package school.redrover.runner;
+
+import org.testng.annotations.ITestAnnotation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Puts every test of a class into the groups listed for it in {@code test-groups.properties}
+ * ({@code group=ClassA,ClassB}), so suites and {@code -Dgroups=...} can select {@code smoke}, {@code slow} or one site
+ * ({@code site-<name>}) while the classes themselves stay untouched.
+ * <p>
+ * Applied by {@link FlakyTestListener#transform}: TestNG uses only one {@code IAnnotationTransformer} from the
+ * services file, so this one is not registered on its own.
+ */
+public final class TestGroups {
+
+    private static final Map<String, Set<String>> GROUPS_BY_CLASS = load();
+
+    private TestGroups() {
+    }
+
+    private static Map<String, Set<String>> load() {
+        Properties properties = new Properties();
+        try (InputStream input = TestGroups.class.getClassLoader().getResourceAsStream("test-groups.properties")) {
+            if (input != null) {
+                properties.load(input);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read test-groups.properties", e);
+        }
+
+        Map<String, Set<String>> groupsByClass = new HashMap<>();
+        for (String group : properties.stringPropertyNames()) {
+            for (String className : properties.getProperty(group).split(",")) {
+                if (!className.isBlank()) {
+                    groupsByClass.computeIfAbsent(className.trim(), k -> new LinkedHashSet<>()).add(group);
+                }
+            }
+        }
+        return groupsByClass;
+    }
+
+    static void apply(ITestAnnotation annotation, Method testMethod) {
+        Set<String> groups = GROUPS_BY_CLASS.get(testMethod.getDeclaringClass().getSimpleName());
+        if (groups != null) {
+            Set<String> merged = new LinkedHashSet<>(List.of(annotation.getGroups()));
+            merged.addAll(groups);
+            annotation.setGroups(merged.toArray(new String[0]));
+        }
+    }
+}
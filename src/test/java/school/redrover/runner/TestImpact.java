@@ -0,0 +1,176 @@
+package school.redrover.runner;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Picks the test classes a change can affect from {@code git diff} against a base ref and writes them as a TestNG
+ * suite, so a pull request that touches one test class runs that class instead of the whole suite.
+ * <ul>
+ *     <li>a changed test class in {@code school.redrover} selects itself and the test classes that use it;</li>
+ *     <li>anything tests share selects everything: helpers next to the tests ({@code DriverManager},
+ *     {@code ChromeInstaller}), {@code runner}, other test sources, {@code src/test/resources}, the build files
+ *     and {@code .github};</li>
+ *     <li>{@code benchmark} selects nothing;</li>
+ *     <li>any other file (upload files, documentation) selects the test classes that mention its name.</li>
+ * </ul>
+ * Committed changes since the merge base, uncommitted and untracked files all count. When git cannot tell,
+ * everything runs. Run: {@code mvn test -Pimpact [-Dimpact.base=origin/main]}, or {@code TestImpact <base> <suite>}.
+ */
+public final class TestImpact {
+
+    private static final String TESTS = "src/test/java/school/redrover/";
+    private static final List<String> SHARED = List.of(
+            "src/test/java/", "src/test/resources/", "pom.xml", "Dockerfile", "docker-compose.yml", ".github/");
+    private static final Pattern TEST_ANNOTATION = Pattern.compile("@Test\\b");
+
+    private final Path root;
+    private final Map<String, String> testSources = new TreeMap<>();
+
+    TestImpact(Path root) throws IOException {
+        this.root = root;
+        try (Stream<Path> files = Files.list(root.resolve(TESTS))) {
+            for (Path file : (Iterable<Path>) files.filter(file -> file.toString().endsWith(".java"))::iterator) {
+                String source = Files.readString(file, StandardCharsets.UTF_8);
+                if (TEST_ANNOTATION.matcher(source).find()) {
+                    testSources.put(file.getFileName().toString().replace(".java", ""), source);
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: TestImpact <base ref> <suite file to write>");
+            System.exit(2);
+        }
+        Path root = Path.of(git(Path.of("."), "rev-parse", "--show-toplevel").get(0));
+        TestImpact impact = new TestImpact(root);
+
+        List<String> changed = changedFiles(root, args[0]);
+        Set<String> classes = changed == null ? null : impact.select(changed);
+        Files.createDirectories(Path.of(args[1]).toAbsolutePath().getParent());
+        Files.writeString(Path.of(args[1]), suite(classes), StandardCharsets.UTF_8);
+
+        ProjectUtils.log(String.format("Test impact of %s: %s", changed == null ? "unknown changes" : changed.size()
+                + " changed files", classes == null ? "all test classes" : classes.size() + " " + classes));
+    }
+
+    /**
+     * Simple names of the test classes to run; {@code null} for all.
+     */
+    Set<String> select(List<String> changedFiles) {
+        Set<String> selected = new TreeSet<>();
+        for (String file : changedFiles) {
+            if (file.startsWith(TESTS + "benchmark/")) {
+                continue;
+            }
+            String name = Path.of(file).getFileName().toString();
+            if (file.startsWith(TESTS) && !file.substring(TESTS.length()).contains("/") && name.endsWith(".java")) {
+                String className = name.substring(0, name.length() - ".java".length());
+                if (testSources.containsKey(className)) {
+                    selected.add(className);
+                    continue;
+                }
+                if (!Files.exists(root.resolve(file))) {
+                    // a deleted test class has nothing left to run
+                    continue;
+                }
+                return null;
+            }
+            if (SHARED.stream().anyMatch(file::startsWith)) {
+                return null;
+            }
+            selected.addAll(mentioning(name));
+        }
+
+        Set<String> dependents = new LinkedHashSet<>(selected);
+        for (String className : selected) {
+            dependents.addAll(mentioning(className));
+        }
+        return new TreeSet<>(dependents);
+    }
+
+    private Set<String> mentioning(String word) {
+        Pattern pattern = Pattern.compile("\\b" + Pattern.quote(word) + "\\b");
+        Set<String> classes = new TreeSet<>();
+        testSources.forEach((className, source) -> {
+            if (pattern.matcher(source).find()) {
+                classes.add(className);
+            }
+        });
+        return classes;
+    }
+
+    /**
+     * Same run settings as {@code testng.xml}; {@code null} classes is the whole package.
+     */
+    static String suite(Set<String> classes) {
+        StringBuilder xml = new StringBuilder()
+                .append("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n")
+                .append("<!-- written by TestImpact -->\n")
+                .append("<suite name=\"RedRover\" parallel=\"classes\" thread-count=\"4\" data-provider-thread-count=\"8\">\n")
+                .append("    <test name=\"impact\">\n");
+        if (classes == null) {
+            xml.append("        <packages>\n")
+                    .append("            <package name=\"school.redrover\"/>\n")
+                    .append("        </packages>\n");
+        } else {
+            xml.append("        <classes>\n");
+            for (String className : classes) {
+                xml.append("            <class name=\"school.redrover.").append(className).append("\"/>\n");
+            }
+            xml.append("        </classes>\n");
+        }
+        return xml.append("    </test>\n").append("</suite>\n").toString();
+    }
+
+    /**
+     * Files changed since the merge base with {@code base}, plus uncommitted and untracked ones;
+     * {@code null} when git cannot tell.
+     */
+    private static List<String> changedFiles(Path root, String base) {
+        try {
+            Set<String> files = new LinkedHashSet<>();
+            files.addAll(git(root, "diff", "--name-only", "--no-renames", base + "...HEAD"));
+            files.addAll(git(root, "diff", "--name-only", "--no-renames", "HEAD"));
+            files.addAll(git(root, "ls-files", "--others", "--exclude-standard"));
+            return new ArrayList<>(files);
+        } catch (IOException e) {
+            ProjectUtils.log("Cannot diff against " + base + ", running everything: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<String> git(Path directory, String... arguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(arguments));
+        Process process = new ProcessBuilder(command).directory(directory.toFile()).redirectErrorStream(true).start();
+        List<String> lines;
+        try {
+            lines = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+            if (!process.waitFor(1, TimeUnit.MINUTES) || process.exitValue() != 0) {
+                throw new IOException(String.join(" ", command) + ": " + String.join("\n", lines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted", e);
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,119 @@
+package school.redrover.runner;
+
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Step breakdown of one test invocation, including its {@code @BeforeMethod} and {@code @AfterMethod}.
+ */
+final class TestTiming {
+
+    private final String className;
+    private final String methodName;
+    private final String parameters;
+    private final String status;
+    private final StepTimings steps;
+    private long durationNanos;
+
+    TestTiming(ITestResult result, String status, long durationNanos, StepTimings steps) {
+        this.className = result.getMethod().getRealClass().getSimpleName();
+        this.methodName = result.getMethod().getMethodName();
+        this.parameters = parametersOf(result);
+        this.status = status;
+        this.durationNanos = durationNanos;
+        this.steps = steps;
+    }
+
+    /**
+     * Name of a test invocation as it appears in the reports and in {@link RunHistory}.
+     */
+    static String nameOf(ITestResult result) {
+        String parameters = parametersOf(result);
+        return result.getMethod().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName()
+                + (parameters.isEmpty() ? "" : "(" + parameters + ")");
+    }
+
+    private static String parametersOf(ITestResult result) {
+        return Arrays.stream(result.getParameters()).map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
+    void merge(StepTimings more, long moreDurationNanos) {
+        steps.merge(more);
+        durationNanos += moreDurationNanos;
+    }
+
+    String getName() {
+        return className + "." + methodName + (parameters.isEmpty() ? "" : "(" + parameters + ")");
+    }
+
+    String getClassName() {
+        return className;
+    }
+
+    String getMethodName() {
+        return methodName;
+    }
+
+    String getParameters() {
+        return parameters;
+    }
+
+    int getCommandCount() {
+        return steps.getCommandCount();
+    }
+
+    String getStatus() {
+        return status;
+    }
+
+    long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    long getMillis(StepCategory category) {
+        if (category != StepCategory.OTHER) {
+            return TimeUnit.NANOSECONDS.toMillis(steps.getNanos(category));
+        }
+
+        long measured = 0;
+        for (StepCategory step : StepCategory.values()) {
+            if (step != StepCategory.OTHER) {
+                measured += steps.getNanos(step);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, durationNanos - measured));
+    }
+
+    long getWastedMillis() {
+        long wasted = 0;
+        for (StepCategory category : StepCategory.values()) {
+            if (category.isWasted()) {
+                wasted += getMillis(category);
+            }
+        }
+        return wasted;
+    }
+
+    Map<String, Object> toJson() {
+        Map<String, Long> steps = new LinkedHashMap<>();
+        for (StepCategory category : StepCategory.values()) {
+            steps.put(category.name().toLowerCase(), getMillis(category));
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("class", className);
+        json.put("method", methodName);
+        json.put("parameters", parameters);
+        json.put("status", status);
+        json.put("durationMs", getDurationMillis());
+        json.put("wastedMs", getWastedMillis());
+        json.put("commands", getCommandCount());
+        json.put("stepsMs", steps);
+        return json;
+    }
+}
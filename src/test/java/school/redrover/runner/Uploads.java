@@ -0,0 +1,170 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.io.Zip;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.LocalFileDetector;
+import org.openqa.selenium.remote.RemoteExecuteMethod;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.support.decorators.Decorated;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * File inputs filled the same way locally and on the grid. Files come from the test resources
+ * ({@code uploadFiles/java.png}), so no test needs an OS specific path.
+ * <p>
+ * A local browser gets the local path. A grid browser gets the file copied to its node the way
+ * {@link LocalFileDetector} does it, but only once per session: the path on the node is remembered by the
+ * content hash and the name of the file, and later uploads of the same file send only that path. The hash of a file
+ * is kept while its size and modification time stay the same, and what a session remembers is dropped when it quits
+ * ({@link SessionEndDriverListener}).
+ */
+public final class Uploads {
+
+    private static final Map<SessionId, Map<String, String>> REMOTE_PATHS = new ConcurrentHashMap<>();
+    private static final Map<Path, FileHash> HASHES = new ConcurrentHashMap<>();
+
+    private static final class FileHash {
+        final long size;
+        final FileTime modified;
+        final String sha256;
+
+        FileHash(long size, FileTime modified, String sha256) {
+            this.size = size;
+            this.modified = modified;
+            this.sha256 = sha256;
+        }
+    }
+
+    private Uploads() {
+    }
+
+    public static void upload(WebDriver driver, WebElement fileInput, String resource) {
+        upload(driver, fileInput, resource(resource));
+    }
+
+    public static void upload(WebDriver driver, WebElement fileInput, Path file) {
+        fileInput.sendKeys(pathFor(driver, file));
+    }
+
+    /**
+     * Test resource as a file; resources inside a jar are copied out once.
+     */
+    public static Path resource(String name) {
+        URL url = Uploads.class.getClassLoader().getResource(name);
+        if (url == null) {
+            throw new IllegalArgumentException("No test resource " + name);
+        }
+        try {
+            if (url.getProtocol().equals("file")) {
+                return Path.of(url.toURI());
+            }
+            Path copy = ProjectUtils.getReportDir("uploads").resolve(name);
+            if (!Files.exists(copy)) {
+                Files.createDirectories(copy.getParent());
+                try (InputStream input = url.openStream()) {
+                    Files.copy(input, copy, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            return copy;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read test resource " + name, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Bad test resource URL " + url, e);
+        }
+    }
+
+    /**
+     * Path of the file as the browser of {@code driver} sees it.
+     */
+    public static String pathFor(WebDriver driver, Path file) {
+        File local = new LocalFileDetector().getLocalFile(file.toAbsolutePath().toString());
+        if (local == null) {
+            throw new IllegalArgumentException("No file " + file.toAbsolutePath());
+        }
+
+        RemoteWebDriver remote = unwrap(driver);
+        if (remote == null || remote instanceof ChromiumDriver) {
+            return local.getPath();
+        }
+
+        SessionId session = remote.getSessionId();
+        if (session == null) {
+            throw new IllegalStateException("The session has quit, cannot upload " + local);
+        }
+        String key = sha256(local.toPath()) + "/" + local.getName();
+        return REMOTE_PATHS.computeIfAbsent(session, id -> new ConcurrentHashMap<>()).computeIfAbsent(key, k -> {
+            try {
+                return (String) new RemoteExecuteMethod(remote)
+                        .execute(DriverCommand.UPLOAD_FILE, Map.of("file", Zip.zip(local)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot zip " + local, e);
+            }
+        });
+    }
+
+    /**
+     * Forgets the files sent to the node of a session that is about to quit.
+     */
+    static void forget(WebDriver driver) {
+        RemoteWebDriver remote = unwrap(driver);
+        if (remote != null && remote.getSessionId() != null) {
+            REMOTE_PATHS.remove(remote.getSessionId());
+        }
+    }
+
+    private static RemoteWebDriver unwrap(WebDriver driver) {
+        WebDriver current = driver;
+        for (int depth = 0; depth < 10; depth++) {
+            if (current instanceof RemoteWebDriver) {
+                return (RemoteWebDriver) current;
+            }
+            if (current instanceof Decorated) {
+                current = (WebDriver) ((Decorated<?>) current).getOriginal();
+            } else if (current instanceof WrapsDriver) {
+                current = ((WrapsDriver) current).getWrappedDriver();
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String sha256(Path file) {
+        try {
+            Path key = file.toAbsolutePath().normalize();
+            long size = Files.size(key);
+            FileTime modified = Files.getLastModifiedTime(key);
+            FileHash hash = HASHES.get(key);
+            if (hash == null || hash.size != size || !hash.modified.equals(modified)) {
+                hash = new FileHash(size, modified,
+                        HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(key))));
+                HASHES.put(key, hash);
+            }
+            return hash.sha256;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package school.redrover.runner;
+
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Map;
+
+/**
+ * Page size of a test, set through the browser instead of asking the operating system for the screen: CDP
+ * {@code Emulation.setDeviceMetricsOverride} gives the page exactly the size asked for, the same headed, headless
+ * and on the grid, whatever the window or screen is. Drivers without CDP get the window resized instead.
+ * <p>
+ * The override belongs to the current tab; windows opened later have the size of the browser window.
+ */
+public final class Viewport {
+
+    public static final int DESKTOP_WIDTH = 1920;
+    public static final int DESKTOP_HEIGHT = 1080;
+
+    private Viewport() {
+    }
+
+    public static void desktop(WebDriver driver) {
+        set(driver, DESKTOP_WIDTH, DESKTOP_HEIGHT);
+    }
+
+    public static void set(WebDriver driver, int width, int height) {
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Emulation.setDeviceMetricsOverride", Map.of(
+                    "width", width,
+                    "height", height,
+                    "deviceScaleFactor", 1,
+                    "mobile", false));
+        } else {
+            driver.manage().window().setSize(new Dimension(width, height));
+        }
+    }
+
+    /**
+     * Back to the size of the browser window.
+     */
+    public static void reset(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            ((HasCdp) driver).executeCdpCommand("Emulation.clearDeviceMetricsOverride", Map.of());
+        }
+    }
+}